@@ -0,0 +1,72 @@
+package gg.group3.justgo.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.entities.Entity;
+import gg.group3.justgo.entities.utils.ArrayUtils;
+import gg.group3.justgo.managers.WorldManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** The per-entity work of a turn: moving, line of sight and chasing. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityBenchmark {
+    @Param({"level1", "level2", "level3", "level3x16"})
+    public String level;
+
+    private GameLevel gameLevel;
+    private WorldManager world;
+    private Entity player;
+    private Array<Entity> enemies;
+    private Array<Entity> playerCollisions;
+    private Array<Entity> enemyCollisions;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void loadLevel() {
+        gameLevel = Levels.load(level);
+    }
+
+    // A fresh world every iteration, so chasing enemies don't all end up stuck next to the player
+    @Setup(Level.Iteration)
+    public void createWorld() {
+        world = new WorldManager(gameLevel, null, Levels.NO_UI, Levels.levelIndex(level));
+        player = world.getPlayer();
+        enemies = world.getEnemies();
+        playerCollisions = ArrayUtils.combineArrays(world.getDoors(), world.getEnemies(), world.getItems());
+        enemyCollisions = ArrayUtils.combineArrays(world.getDoors(), world.getEnemies());
+        enemyCollisions.add(player);
+        step = 0;
+    }
+
+    @Benchmark
+    public boolean move() {
+        // Back and forth, so the player stays in the same area
+        int dx = (step++ & 1) == 0 ? 1 : -1;
+        return player.move(dx, 0, gameLevel, playerCollisions);
+    }
+
+    @Benchmark
+    public boolean isVisibleTo() {
+        Entity enemy = enemies.get(step++ % enemies.size);
+        return enemy.isVisibleTo(player, gameLevel, world.getDoors());
+    }
+
+    @Benchmark
+    public void moveTowards() {
+        Entity enemy = enemies.get(step++ % enemies.size);
+        enemy.settle();
+        enemy.moveTowards(player, gameLevel, enemyCollisions);
+    }
+}
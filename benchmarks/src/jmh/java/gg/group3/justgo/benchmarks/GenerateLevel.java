@@ -0,0 +1,27 @@
+package gg.group3.justgo.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.LevelGenerator;
+
+import java.io.File;
+
+/**
+ * Writes a generated level as a TMX file, to open it in Tiled or play it.
+ * Usage: {@code GenerateLevel <size> [seed] [output.tmx]}
+ */
+public final class GenerateLevel {
+    private GenerateLevel() { }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : Levels.GENERATOR_SEED;
+        File output = new File(args.length > 2 ? args[2] : "gen" + size + ".tmx");
+
+        GameLevel level = new LevelGenerator(seed).size(size, size).generate();
+        LevelGenerator.writeTmx(level, new FileHandle(output));
+        System.out.printf("%s: %dx%d, %d enemies, %d spikes, %d doors, %d items%n", output, size, size,
+            level.getEnemies().size, level.getSpikePositions().size,
+            level.getDoorPositions().size, level.getItems().size);
+    }
+}
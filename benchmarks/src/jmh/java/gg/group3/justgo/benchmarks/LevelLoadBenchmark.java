@@ -0,0 +1,45 @@
+package gg.group3.justgo.benchmarks;
+
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.managers.WorldManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a level. Uses the graphics-free TMX reader: TmxMapLoader needs a GL context for its
+ * textures, which a headless benchmark doesn't have.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelLoadBenchmark {
+    @Param({"level1", "level2", "level3"})
+    public String level;
+
+    private GameLevel gameLevel;
+
+    @Setup
+    public void setUp() {
+        Levels.initGdx();
+        gameLevel = Levels.load(level);
+    }
+
+    @Benchmark
+    public GameLevel loadLevel() {
+        return GameLevel.loadWithoutGraphics(Levels.file(Levels.levelIndex(level)));
+    }
+
+    // Everything a level load does after parsing: entities, fog and the first snapshot
+    @Benchmark
+    public WorldManager createWorld() {
+        return new WorldManager(gameLevel, null, Levels.NO_UI, Levels.levelIndex(level));
+    }
+}
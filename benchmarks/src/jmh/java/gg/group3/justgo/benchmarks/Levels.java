@@ -0,0 +1,75 @@
+package gg.group3.justgo.benchmarks;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.LevelGenerator;
+import gg.group3.justgo.entities.Entity;
+import gg.group3.justgo.managers.WorldEventListener;
+import gg.group3.justgo.utils.MathGen;
+
+import java.io.File;
+
+/**
+ * Levels for the benchmarks: the shipped ones, read without graphics, and bigger synthetic
+ * ones made by repeating a shipped level or by {@link LevelGenerator}.
+ * <p>
+ * Names are {@code level<n>}, {@code level<n>x<copies>}, e.g. {@code level3x16} is level 3
+ * repeated 4 by 4 times, or {@code gen<size>}, e.g. {@code gen1024} is a generated 1024x1024
+ * level (always the same one) with level 3 questions.
+ */
+final class Levels {
+    private Levels() { }
+
+    // Questions are raised but never answered, so the world keeps going
+    static final WorldEventListener NO_UI = new WorldEventListener() {
+        @Override
+        public void onQuestionTriggered(Entity target, MathGen problem) { }
+
+        @Override
+        public void onGameOver() { }
+    };
+
+    /** Gdx.app and Gdx.files are used by the game code (logging), so a headless app must exist. */
+    static synchronized void initGdx() {
+        if (Gdx.app != null) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = 1;
+        new HeadlessApplication(new ApplicationAdapter() { }, config);
+        Gdx.app.setLogLevel(Application.LOG_NONE); // Boss priming logs every turn
+    }
+
+    static FileHandle file(int levelIndex) {
+        File assets = new File(System.getProperty("justgo.assets", "assets"));
+        return new FileHandle(new File(assets, "levels/level" + levelIndex + ".tmx"));
+    }
+
+    // Fixed, so a generated level is the same in every run
+    static final long GENERATOR_SEED = 42;
+
+    static int levelIndex(String name) {
+        if (name.startsWith("gen")) return 3;
+        int end = name.indexOf('x');
+        return Integer.parseInt(name.substring("level".length(), end < 0 ? name.length() : end));
+    }
+
+    static GameLevel load(String name) {
+        initGdx();
+        if (name.startsWith("gen")) {
+            int size = Integer.parseInt(name.substring("gen".length()));
+            return new LevelGenerator(GENERATOR_SEED).size(size, size).generate();
+        }
+        GameLevel level = GameLevel.loadWithoutGraphics(file(levelIndex(name)));
+
+        int x = name.indexOf('x');
+        if (x < 0) return level;
+        int copies = Integer.parseInt(name.substring(x + 1));
+        int side = (int) Math.round(Math.sqrt(copies));
+        if (side * side != copies) throw new IllegalArgumentException("Copies must be a square: " + name);
+        return level.repeated(side, side);
+    }
+}
@@ -0,0 +1,54 @@
+package gg.group3.justgo.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import gg.group3.justgo.utils.MathGen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Question generation for every level, both fresh and into a recycled problem. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MathGenBenchmark {
+    @Param({"1", "2", "3"})
+    public int level;
+
+    @Param({"false", "true"})
+    public boolean isBoss;
+
+    private final MathGen problem = new MathGen();
+    private final RandomXS128 random = new RandomXS128(42);
+
+    // Should report 0 B/op
+    @Benchmark
+    public MathGen generateInto() {
+        MathGen.generateForLevel(level, isBoss, problem, random);
+        return problem;
+    }
+
+    @Benchmark
+    public MathGen generateNew() {
+        return MathGen.generateForLevel(level, isBoss);
+    }
+
+    // What the game calls. No producer thread runs here, so this is the fallback path plus the pool bookkeeping.
+    @Benchmark
+    public MathGen getForLevel() {
+        return MathGen.getForLevel(level, isBoss);
+    }
+
+    // Including the text, as when a question is shown
+    @Benchmark
+    public String generateAndFormat() {
+        MathGen.generateForLevel(level, isBoss, problem, random);
+        return problem.getQuestion() + problem.getOption(0) + problem.getOption(1)
+            + problem.getOption(2) + problem.getOption(3);
+    }
+}
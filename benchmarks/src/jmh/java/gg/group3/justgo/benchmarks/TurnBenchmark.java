@@ -0,0 +1,54 @@
+package gg.group3.justgo.benchmarks;
+
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.managers.WorldManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** One whole turn: player move, spikes, fog and every enemy and the boss. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TurnBenchmark {
+    private static final int[] DIR_X = {0, 0, -1, 1};
+    private static final int[] DIR_Y = {1, -1, 0, 0};
+
+    @Param({"level1", "level2", "level3", "level3x4", "level3x16", "gen256", "gen1024"})
+    public String level;
+
+    private GameLevel gameLevel;
+    private WorldManager world;
+    private final int[] directions = new int[1024];
+    private int step;
+
+    @Setup(Level.Trial)
+    public void loadLevel() {
+        gameLevel = Levels.load(level);
+
+        // The same random walk every run, so results are comparable between runs
+        Random random = new Random(42);
+        for (int i = 0; i < directions.length; i++) directions[i] = random.nextInt(4);
+    }
+
+    @Setup(Level.Iteration)
+    public void createWorld() {
+        world = new WorldManager(gameLevel, null, Levels.NO_UI, Levels.levelIndex(level));
+        step = 0;
+    }
+
+    @Benchmark
+    public void processTurn() {
+        int direction = directions[step++ & (directions.length - 1)];
+        world.processTurn(DIR_X[direction], DIR_Y[direction]);
+    }
+}
@@ -0,0 +1,48 @@
+package gg.group3.justgo.benchmarks;
+
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.managers.VisibilityManager;
+import gg.group3.justgo.managers.WorldManager;
+import gg.group3.justgo.math.Vector2Int;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Fog of war recalculation, done every turn the player moves. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisibilityBenchmark {
+    @Param({"level1", "level2", "level3", "level3x4", "level3x16", "gen256", "gen1024"})
+    public String level;
+
+    private GameLevel gameLevel;
+    private WorldManager world;
+    private VisibilityManager visibility;
+    private Vector2Int[] positions;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameLevel = Levels.load(level);
+        world = new WorldManager(gameLevel, null, Levels.NO_UI, Levels.levelIndex(level));
+        visibility = new VisibilityManager(gameLevel.getWidth(), gameLevel.getHeight());
+
+        // Alternate between two neighbouring tiles so every update changes the fog
+        Vector2Int start = gameLevel.getPlayerPosition();
+        positions = new Vector2Int[] { start.cpy(), start.cpy().add(gameLevel.isCollidable(start.x + 1, start.y) ? -1 : 1, 0) };
+    }
+
+    @Benchmark
+    public void update() {
+        visibility.update(positions[step++ & 1], gameLevel, world.getDoors());
+    }
+}
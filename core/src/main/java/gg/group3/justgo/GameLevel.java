@@ -1,6 +1,7 @@
 package gg.group3.justgo;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
@@ -8,10 +9,29 @@ import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.XmlReader;
 import gg.group3.justgo.math.Vector2Int;
 
+import java.util.Arrays;
+
 public class GameLevel {
+    // --- TILES: the tile id within tilesets/atlas.tsx, plus flip and rotation bits ---
+    // Flipped first, then turned counterclockwise, like TiledMapTileLayer.Cell
+    public static final int TILE_EMPTY = -1;
+    public static final int TILE_FLIP_X = 1 << 30;
+    public static final int TILE_FLIP_Y = 1 << 29;
+    public static final int TILE_ROTATION_SHIFT = 27; // Two bits, quarter turns (Cell.ROTATE_*)
+    public static final int TILE_ROTATION_MASK = 3 << TILE_ROTATION_SHIFT;
+    public static final int TILE_ID_MASK = (1 << TILE_ROTATION_SHIFT) - 1;
+
+    // Tiled's flags in the top bits of a gid
+    private static final long GID_FLIP_H = 0x80000000L;
+    private static final long GID_FLIP_V = 0x40000000L;
+    private static final long GID_FLIP_D = 0x20000000L;
+
     private final boolean[][] collidables;
+    private final int[] tiles; // x * height + y
     private Vector2Int playerPosition;
     private EnemyData bossData;
     private final TiledMap rawLevel;
@@ -96,66 +116,26 @@ public class GameLevel {
 
 
     public GameLevel(String path) {
-        rawLevel = new TmxMapLoader().load(path);
+        this(new TmxMapLoader().load(path));
+    }
+
+    private GameLevel(TiledMap rawLevel) {
+        this(rawLevel,
+            rawLevel.getProperties().get("width", int.class),
+            rawLevel.getProperties().get("height", int.class));
 
         // Initialize the Entities
         MapLayer entityLayer = rawLevel.getLayers().get("Entities");
-        doorPositions = new Array<>();
-        spikePositions = new Array<>();
-        enemies = new Array<>();
-        items = new Array<>();
         for (MapObject obj : entityLayer.getObjects()) {
             float x = obj.getProperties().get("x", float.class);
             float y = obj.getProperties().get("y", float.class);
 
-            Vector2Int position = new Vector2Int((int)(x / 16), (int)(y / 16));
-
-            if (obj.getName() != null) {
-                switch (obj.getName()) {
-                    case "Player":
-                        playerPosition = position;
-                        break;
-                    case "Door":
-                        doorPositions.add(position);
-                        break;
-                    case "Spike":
-                        spikePositions.add(position);
-                        break;
-                    case "Health":
-                        items.add(new ItemData(position, ItemType.HealthPotion));
-                        break;
-                    case "Dagger":
-                        items.add(new ItemData(position, ItemType.Dagger));
-                        break;
-                    case "Beanling":
-                        enemies.add(new EnemyData(position, EnemyType.Beanling));
-                        break;
-                    case "Beanite":
-                        enemies.add(new EnemyData(position, EnemyType.Beanite));
-                        break;
-                    case "RatFly":
-                        enemies.add(new EnemyData(position, EnemyType.RatFly));
-                        break;
-                    case "RatGhoul":
-                        enemies.add(new EnemyData(position, EnemyType.RatGhoul));
-                        break;
-                    case "GhoulKing":
-                        bossData = new EnemyData(position, EnemyType.GhoulKing);
-                        break;
-                    case "WillowQueen":
-                        bossData = new EnemyData(position, EnemyType.WillowQueen);
-                        break;
-                    case "Vessel":
-                        bossData = new EnemyData(position, EnemyType.Vessel);
-                }
-            }
+            addObject(obj.getName(), (int)(x / 16), (int)(y / 16));
         }
 
         // Initialize the collidables
-        width = rawLevel.getProperties().get("width", int.class);
-        height = rawLevel.getProperties().get("height", int.class);
         TiledMapTileLayer tileLayer = (TiledMapTileLayer)rawLevel.getLayers().get("Tiles");
-        collidables = new boolean[width][height];
+        int firstGid = rawLevel.getTileSets().getTileSet(0).getProperties().get("firstgid", 1, Integer.class);
 
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
@@ -163,6 +143,9 @@ public class GameLevel {
 
                 if (cell != null && cell.getTile() != null) {
                     TiledMapTile tile = cell.getTile();
+                    tiles[x * height + y] = (tile.getId() - firstGid)
+                        | (cell.getFlipHorizontally() ? TILE_FLIP_X : 0) | (cell.getFlipVertically() ? TILE_FLIP_Y : 0)
+                        | (cell.getRotation() << TILE_ROTATION_SHIFT);
                     assert tile.getProperties().containsKey("collidable") : "A tile that has no properties 'collidables' is not mine";
                     if (tile.getProperties().get("collidable", boolean.class)) {
                         collidables[x][y] = true;
@@ -172,6 +155,185 @@ public class GameLevel {
         }
     }
 
+    // An empty level (no tiles, nothing collidable), filled in by LevelGenerator
+    GameLevel(int width, int height) {
+        this(null, width, height);
+    }
+
+    private GameLevel(TiledMap rawLevel, int width, int height) {
+        this.rawLevel = rawLevel;
+        this.width = width;
+        this.height = height;
+        this.collidables = new boolean[width][height];
+        this.tiles = new int[width * height];
+        Arrays.fill(tiles, TILE_EMPTY);
+        doorPositions = new Array<>();
+        spikePositions = new Array<>();
+        enemies = new Array<>();
+        items = new Array<>();
+    }
+
+    /** The TMX file of a level, counted from 1 */
+    public static FileHandle levelFile(int levelIndex) {
+        return Gdx.files.internal("levels/level" + levelIndex + ".tmx");
+    }
+
+    /**
+     * Reads only the tile, collision and entity data of a TMX file, without loading any textures.
+     * Used where there is no GL context (e.g. the headless server); {@link #getRawLevel()} is null.
+     */
+    public static GameLevel loadWithoutGraphics(FileHandle tmxFile) {
+        XmlReader.Element map = new XmlReader().parse(tmxFile);
+        int width = map.getIntAttribute("width");
+        int height = map.getIntAttribute("height");
+        int tileHeight = map.getIntAttribute("tileheight");
+        GameLevel level = new GameLevel(null, width, height);
+
+        // Tile properties live in the (external) tilesets, keyed by global id
+        IntSet collidableGids = new IntSet();
+        for (XmlReader.Element tileset : map.getChildrenByName("tileset")) {
+            int firstGid = tileset.getIntAttribute("firstgid");
+            String source = tileset.getAttribute("source", null);
+            XmlReader.Element tiles = source == null ? tileset : new XmlReader().parse(resolve(tmxFile, source));
+            for (XmlReader.Element tile : tiles.getChildrenByName("tile")) {
+                XmlReader.Element properties = tile.getChildByName("properties");
+                if (properties == null) continue;
+                for (XmlReader.Element property : properties.getChildrenByName("property")) {
+                    if ("collidable".equals(property.getAttribute("name")) && property.getBooleanAttribute("value", false)) {
+                        collidableGids.add(firstGid + tile.getIntAttribute("id"));
+                    }
+                }
+            }
+        }
+
+        // Tile ids are kept relative to the first tileset, the atlas
+        XmlReader.Element atlasTileset = map.getChildByName("tileset");
+        int atlasFirstGid = atlasTileset == null ? 1 : atlasTileset.getIntAttribute("firstgid");
+
+        // CSV rows go top to bottom, libGDX rows go bottom to top
+        for (XmlReader.Element layer : map.getChildrenByName("layer")) {
+            if (!"Tiles".equals(layer.getAttribute("name"))) continue;
+            String[] cells = layer.getChildByName("data").getText().split(",");
+            for (int i = 0; i < cells.length && i < width * height; i++) {
+                long raw = Long.parseLong(cells[i].trim());
+                int gid = (int) (raw & 0x1FFFFFFF); // Strip the flip bits
+                int x = i % width, y = height - 1 - i / width;
+                if (gid != 0) {
+                    level.tiles[x * height + y] = (gid - atlasFirstGid) | transformFromGid(raw);
+                }
+                if (collidableGids.contains(gid)) {
+                    level.collidables[x][y] = true;
+                }
+            }
+        }
+
+        // Same conversion TmxMapLoader does: flip y, and rectangles are anchored at their top
+        int mapPixelHeight = height * tileHeight;
+        for (XmlReader.Element group : map.getChildrenByName("objectgroup")) {
+            if (!"Entities".equals(group.getAttribute("name"))) continue;
+            for (XmlReader.Element obj : group.getChildrenByName("object")) {
+                float x = obj.getFloatAttribute("x", 0);
+                float y = mapPixelHeight - obj.getFloatAttribute("y", 0);
+                if (obj.getAttribute("gid", null) == null) {
+                    y -= obj.getFloatAttribute("height", 0);
+                }
+                level.addObject(obj.getAttribute("name", null), (int)(x / 16), (int)(y / 16));
+            }
+        }
+
+        return level;
+    }
+
+    /**
+     * A bigger level made of copiesX by copiesY copies of this one, for benchmarks and stress
+     * tests. Every copy keeps its enemies, doors, items and spikes; only the first copy keeps
+     * the player and the boss.
+     */
+    public GameLevel repeated(int copiesX, int copiesY) {
+        GameLevel result = new GameLevel(null, width * copiesX, height * copiesY);
+        result.playerPosition = playerPosition.cpy();
+        result.bossData = bossData;
+
+        for (int cx = 0; cx < copiesX; cx++) {
+            for (int cy = 0; cy < copiesY; cy++) {
+                int ox = cx * width;
+                int oy = cy * height;
+                for (int x = 0; x < width; x++) {
+                    System.arraycopy(collidables[x], 0, result.collidables[ox + x], oy, height);
+                    System.arraycopy(tiles, x * height, result.tiles, (ox + x) * result.height + oy, height);
+                }
+                for (Vector2Int door : doorPositions) result.doorPositions.add(door.cpy().add(ox, oy));
+                for (Vector2Int spike : spikePositions) result.spikePositions.add(spike.cpy().add(ox, oy));
+                for (EnemyData enemy : enemies) {
+                    result.enemies.add(new EnemyData(enemy.position.cpy().add(ox, oy), enemy.type));
+                }
+                for (ItemData item : items) {
+                    result.items.add(new ItemData(item.position.cpy().add(ox, oy), item.type));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Resolves a path relative to the given file, including any leading "../"
+    private static FileHandle resolve(FileHandle file, String relativePath) {
+        FileHandle dir = file.parent();
+        while (relativePath.startsWith("../")) {
+            dir = dir.parent();
+            relativePath = relativePath.substring(3);
+        }
+        return dir.child(relativePath);
+    }
+
+    void setTile(int x, int y, int tile, boolean collidable) {
+        tiles[x * height + y] = tile;
+        collidables[x][y] = collidable;
+    }
+
+    // Adds an entity by its TMX object name, e.g. "Door" or "Beanling"
+    void addObject(String name, int tileX, int tileY) {
+        if (name == null) return;
+
+        Vector2Int position = new Vector2Int(tileX, tileY);
+        switch (name) {
+            case "Player":
+                playerPosition = position;
+                break;
+            case "Door":
+                doorPositions.add(position);
+                break;
+            case "Spike":
+                spikePositions.add(position);
+                break;
+            case "Health":
+                items.add(new ItemData(position, ItemType.HealthPotion));
+                break;
+            case "Dagger":
+                items.add(new ItemData(position, ItemType.Dagger));
+                break;
+            case "Beanling":
+                enemies.add(new EnemyData(position, EnemyType.Beanling));
+                break;
+            case "Beanite":
+                enemies.add(new EnemyData(position, EnemyType.Beanite));
+                break;
+            case "RatFly":
+                enemies.add(new EnemyData(position, EnemyType.RatFly));
+                break;
+            case "RatGhoul":
+                enemies.add(new EnemyData(position, EnemyType.RatGhoul));
+                break;
+            case "GhoulKing":
+                bossData = new EnemyData(position, EnemyType.GhoulKing);
+                break;
+            case "WillowQueen":
+                bossData = new EnemyData(position, EnemyType.WillowQueen);
+                break;
+            case "Vessel":
+                bossData = new EnemyData(position, EnemyType.Vessel);
+        }
+    }
+
     public boolean isCollidable(int x, int y) {
         if (x < 0 || x >= width || y < 0 || y >= height) {
             Gdx.app.error("GameLevel", "Out of bounds: (" + x + ", " + y + ") - Map size: " + width + "x" + height);
@@ -181,8 +343,38 @@ public class GameLevel {
         return collidables[x][y];
     }
 
+    /** The flip and rotation bits for a gid's Tiled flags, decoded like BaseTmxMapLoader.createTileLayerCell */
+    private static int transformFromGid(long gid) {
+        boolean h = (gid & GID_FLIP_H) != 0, v = (gid & GID_FLIP_V) != 0;
+        if ((gid & GID_FLIP_D) == 0) return (h ? TILE_FLIP_X : 0) | (v ? TILE_FLIP_Y : 0);
+        if (h && v) return TILE_FLIP_X | (3 << TILE_ROTATION_SHIFT);
+        if (h) return 3 << TILE_ROTATION_SHIFT;
+        if (v) return 1 << TILE_ROTATION_SHIFT;
+        return TILE_FLIP_Y | (3 << TILE_ROTATION_SHIFT);
+    }
+
+    /** Tiled's flags for a tile's flip and rotation bits, the other way round from transformFromGid */
+    static long gidFlags(int tile) {
+        boolean flipX = (tile & TILE_FLIP_X) != 0, flipY = (tile & TILE_FLIP_Y) != 0;
+        int rotation = (tile & TILE_ROTATION_MASK) >>> TILE_ROTATION_SHIFT;
+        if (rotation >= 2) {
+            // A half turn is the same as flipping both ways
+            flipX = !flipX;
+            flipY = !flipY;
+            rotation -= 2;
+        }
+        if (rotation == 0) return (flipX ? GID_FLIP_H : 0) | (flipY ? GID_FLIP_V : 0);
+        if (flipX) return flipY ? GID_FLIP_H | GID_FLIP_D : GID_FLIP_D;
+        return flipY ? GID_FLIP_H | GID_FLIP_V | GID_FLIP_D : GID_FLIP_V | GID_FLIP_D;
+    }
+
+    /** The tile at (x, y): an id in the atlas tileset with TILE_FLIP_ and TILE_ROTATION_ bits, or TILE_EMPTY */
+    public int getTile(int x, int y) {
+        return tiles[x * height + y];
+    }
+
     public void dispose() {
-        rawLevel.dispose();
+        if (rawLevel != null) rawLevel.dispose();
     }
 
     public int getHeight() {
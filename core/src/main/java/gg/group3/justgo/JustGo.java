@@ -1,44 +1,134 @@
 package gg.group3.justgo;
 
 import com.badlogic.gdx.Game;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 
+import gg.group3.justgo.managers.AssetBundles;
+import gg.group3.justgo.managers.GameAssets;
+import gg.group3.justgo.managers.GameTrace;
+import gg.group3.justgo.managers.RenderScheduler;
 import gg.group3.justgo.managers.SoundManager;
+import gg.group3.justgo.managers.StartupLoader;
+import gg.group3.justgo.managers.StartupTimeline;
+import gg.group3.justgo.managers.SynchronousTurnEngine;
+import gg.group3.justgo.managers.TurnEngine;
+import gg.group3.justgo.screens.CreditsScreen;
+import gg.group3.justgo.screens.MainMenuScreen;
 import gg.group3.justgo.screens.SplashScreen;
 
 public class JustGo extends Game {
     public FitViewport viewport;
     public SpriteBatch batch;
-    public Texture atlas;
+    /** Sprites and tiles, addressed by pixel offsets like images/atlas.png. Set once assets loaded. */
+    public TextureRegion atlas;
+    /** A white pixel on the same page, tint it for solid fills */
+    public TextureRegion white;
+    public final TurnEngine.Factory turnEngines;
+    /** Work started during create() that screens pick up later, e.g. the first level */
+    public StartupLoader startup;
+    /** Read input and update before drawing, so a move can show in the same frame (see LatencyTracer) */
+    public boolean inputBeforeDraw = false;
+    /** {@code TimeUtils.nanoTime()} when the process started, 0 if the launcher didn't say */
+    public long launchNanos = 0;
+    private long firstFrameMillis = -1;
+    private boolean firstFrameMarked = false;
+    /** Draw the world into a 320x180 target and scale it up by whole pixels (see LowResTarget) */
+    public boolean lowResWorld = false;
+
+    public JustGo() {
+        this(SynchronousTurnEngine::new);
+    }
+
+    /** @param turnEngines decides where turns run, e.g. on a dedicated thread on desktop */
+    public JustGo(TurnEngine.Factory turnEngines) {
+        this.turnEngines = turnEngines;
+    }
 
     @Override
     public void create() {
+        StartupTimeline timeline = StartupTimeline.getInstance();
+        if (launchNanos != 0) timeline.setOrigin(launchNanos);
+        timeline.begin("create");
+        RenderScheduler.getInstance().start();
         viewport = new FitViewport(320, 180);
         batch = new SpriteBatch();
-        atlas = new Texture("images/atlas.png");
 
-        // LOAD SOUNDS (Matching your screenshot exactly)
-        SoundManager audio = SoundManager.getInstance();
+        // CPU-only work goes to a worker first, so it overlaps everything below
+        startup = new StartupLoader();
+        startup.parseLevel(1);
 
-        // Key Name      // Actual File Name in assets/audio/
-        audio.loadSound("step",    "audio/player-move.wav");
-        audio.loadSound("hit",     "audio/hit.mp3");
-        audio.loadSound("kill",    "audio/boss_hit.mp3"); // Use for boss or death
-        audio.loadSound("correct", "audio/on_correct.mp3");
-        audio.loadSound("wrong",   "audio/on_wrong.wav");
-        audio.loadSound("consume-potion",  "audio/consume-potion.mp3");
-        audio.loadSound("dagger-equip",  "audio/dagger-equip.MP3");
-        audio.loadSound("click",   "audio/select.mp3");   // You have this, let's use it!
-        audio.loadSound("splat",   "audio/splat.ogg");
-        audio.loadSound("doorOpening",   "audio/doorOpening.mp3");
+        // Everything below only gets queued, SplashScreen loads it while it fades.
+        // Graphics and audio each decode on their own loader thread, the render thread only uploads
+        GameAssets.getInstance().preload();
+
+        // LOAD SOUNDS (files and voice limits are listed in SoundEffect)
+        timeline.begin("audio");
+        // On the web the audio arrives after the game started, each bundle is picked up when it's in
+        SoundManager audio = SoundManager.getInstance();
+        AssetBundles.get().fetch(AssetBundles.AUDIO, audio::loadSounds);
 
         // Load Music
-        audio.playMusic("audio/bg.mp3");
+        AssetBundles.get().fetch(AssetBundles.MUSIC, () -> audio.playMusic("audio/bg.mp3"));
 
 //        setScreen(new GameScreen(this));
         setScreen(new SplashScreen(this));
+        timeline.end("create");
+    }
+
+    /** Called by the splash screen once {@link GameAssets} finished the preload queue. */
+    public void assetsLoaded() {
+        TextureAtlas gameAtlas = GameAssets.getInstance().getIfLoaded(GameAssets.GAME_ATLAS.fileName, TextureAtlas.class);
+        atlas = gameAtlas.findRegion("atlas");
+        white = gameAtlas.findRegion("white");
+
+        // The menu skin is shared and held for the game's lifetime, so it's adjusted here once
+        // instead of by every screen that shows it
+        Skin menuSkin = GameAssets.getInstance().getIfLoaded(GameAssets.MENU_SKIN.fileName, Skin.class);
+        menuSkin.getFont("ui-font").getData().setScale(0.5f);
+        menuSkin.getFont("title-font").getData().setScale(0.5f);
+        MainMenuScreen.addStyles(menuSkin, gameAtlas);
+        CreditsScreen.addStyles(menuSkin, gameAtlas);
+    }
+
+    @Override
+    public void render() {
+        RenderScheduler scheduler = RenderScheduler.getInstance();
+        float delta = scheduler.beginFrame(Gdx.graphics.getDeltaTime());
+        // References taken by screens are counted here, keep going until the queues are empty
+        GameAssets assets = GameAssets.getInstance();
+        if (!assets.update() || assets.isAudioLoading()) scheduler.requestFrame();
+        if (screen != null) screen.render(delta);
+        scheduler.endFrame();
+
+        if (!firstFrameMarked) {
+            firstFrameMarked = true;
+            StartupTimeline.getInstance().mark("first frame");
+            if (launchNanos != 0) {
+                firstFrameMillis = TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(launchNanos));
+                Gdx.app.log("Startup", "First frame drawn " + firstFrameMillis + " ms after launch");
+            }
+        }
+    }
+
+    /** From launch to the end of the first frame, -1 until then or without {@link #launchNanos} */
+    public long getTimeToFirstFrameMillis() {
+        return firstFrameMillis;
+    }
+
+    @Override
+    public void setScreen(Screen screen) {
+        Object traceSpan = GameTrace.get().beginScreenChange();
+        String from = this.screen == null ? "none" : this.screen.getClass().getSimpleName();
+        super.setScreen(screen);
+        RenderScheduler.getInstance().requestFrame(); // The new screen's first frame
+        GameTrace.get().endScreenChange(traceSpan, from, screen == null ? "none" : screen.getClass().getSimpleName());
     }
 
     @Override
@@ -50,7 +140,10 @@ public class JustGo extends Game {
     @Override
     public void dispose() {
         batch.dispose();
+        startup.dispose();
 
         super.dispose();
+        SoundManager.getInstance().dispose();
+        GameAssets.getInstance().dispose();
     }
 }
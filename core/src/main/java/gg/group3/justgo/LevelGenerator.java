@@ -0,0 +1,284 @@
+package gg.group3.justgo;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+import gg.group3.justgo.math.Vector2Int;
+
+import java.util.Random;
+
+/**
+ * Builds random levels of any size, for scaling and stress tests of the world logic.
+ * The same seed and settings always give the same level.
+ * <p>
+ * Rooms are carved out of solid rock and chained together by corridors, so every room can be
+ * reached (doors aside). Pillars, doors, enemies, spikes and items are then scattered over it.
+ * Defaults follow the density of the shipped levels; override any of them fluently:
+ * <pre>
+ * GameLevel level = new LevelGenerator(42).size(1024, 1024).enemies(20000).generate();
+ * </pre>
+ */
+public class LevelGenerator {
+    // Tile ids in tilesets/atlas.tsx
+    private static final int WALL_TILE = 32;
+    private static final int FLOOR_TILE = 48;
+
+    private static final GameLevel.EnemyType[] REGULAR_ENEMIES = {
+        GameLevel.EnemyType.Beanling, GameLevel.EnemyType.Beanite,
+        GameLevel.EnemyType.RatFly, GameLevel.EnemyType.RatGhoul
+    };
+
+    private final long seed;
+    private int width = 64, height = 64;
+    private int rooms = -1, minRoomSize = 6, maxRoomSize = 14;
+    private float wallDensity = 0.05f;
+    private int doors = -1, enemies = -1, spikes = -1, items = -1;
+    private GameLevel.EnemyType boss = GameLevel.EnemyType.GhoulKing;
+
+    public LevelGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public LevelGenerator size(int width, int height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public LevelGenerator rooms(int count) {
+        this.rooms = count;
+        return this;
+    }
+
+    /** Room width and height range in tiles, at least 6 so a boss fits */
+    public LevelGenerator roomSize(int min, int max) {
+        this.minRoomSize = Math.max(6, min);
+        this.maxRoomSize = Math.max(this.minRoomSize, max);
+        return this;
+    }
+
+    /** Share of room floor turned into pillars, 0 to 0.25 (pillars never touch each other) */
+    public LevelGenerator wallDensity(float density) {
+        this.wallDensity = density;
+        return this;
+    }
+
+    public LevelGenerator doors(int count) {
+        this.doors = count;
+        return this;
+    }
+
+    public LevelGenerator enemies(int count) {
+        this.enemies = count;
+        return this;
+    }
+
+    public LevelGenerator spikes(int count) {
+        this.spikes = count;
+        return this;
+    }
+
+    public LevelGenerator items(int count) {
+        this.items = count;
+        return this;
+    }
+
+    /** @param type the boss in the last room, or null for none */
+    public LevelGenerator boss(GameLevel.EnemyType type) {
+        this.boss = type;
+        return this;
+    }
+
+    public GameLevel generate() {
+        Random random = new Random(seed);
+        int area = width * height;
+        int roomCount = Math.max(2, rooms >= 0 ? rooms : area / 200);
+
+        GameLevel level = new GameLevel(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                setWall(level, x, y, true);
+            }
+        }
+
+        // 1. Rooms, with pillars on odd/odd tiles only, so they can always be walked around
+        int[] roomX = new int[roomCount], roomY = new int[roomCount];
+        int[] roomW = new int[roomCount], roomH = new int[roomCount];
+        float pillarChance = Math.min(1f, Math.max(0f, wallDensity) * 4f);
+        for (int i = 0; i < roomCount; i++) {
+            roomW[i] = Math.min(width - 2, minRoomSize + random.nextInt(maxRoomSize - minRoomSize + 1));
+            roomH[i] = Math.min(height - 2, minRoomSize + random.nextInt(maxRoomSize - minRoomSize + 1));
+            roomX[i] = 1 + random.nextInt(Math.max(1, width - 1 - roomW[i]));
+            roomY[i] = 1 + random.nextInt(Math.max(1, height - 1 - roomH[i]));
+
+            for (int x = 0; x < roomW[i]; x++) {
+                for (int y = 0; y < roomH[i]; y++) {
+                    boolean pillar = x % 2 == 1 && y % 2 == 1 && x < roomW[i] - 1 && y < roomH[i] - 1
+                        && random.nextFloat() < pillarChance;
+                    setWall(level, roomX[i] + x, roomY[i] + y, pillar);
+                }
+            }
+        }
+
+        // 2. Chain every room to the previous one, first horizontally then vertically
+        IntArray corridor = new IntArray(); // Packed x * height + y
+        for (int i = 1; i < roomCount; i++) {
+            int x = roomX[i - 1] + roomW[i - 1] / 2, y = roomY[i - 1] + roomH[i - 1] / 2;
+            int toX = roomX[i] + roomW[i] / 2, toY = roomY[i] + roomH[i] / 2;
+            while (x != toX) {
+                carve(level, x, y, corridor);
+                x += x < toX ? 1 : -1;
+            }
+            while (y != toY) {
+                carve(level, x, y, corridor);
+                y += y < toY ? 1 : -1;
+            }
+            carve(level, x, y, corridor);
+        }
+
+        boolean[] occupied = new boolean[area];
+
+        // 3. Player in the first room, boss in the last one (both areas cleared of pillars)
+        int playerX = roomX[0] + roomW[0] / 2, playerY = roomY[0] + roomH[0] / 2;
+        setWall(level, playerX, playerY, false);
+        level.addObject("Player", playerX, playerY);
+        occupied[playerX * height + playerY] = true;
+
+        if (boss != null) {
+            int last = roomCount - 1;
+            int tiles = boss.size / 16;
+            for (int x = 0; x < tiles; x++) {
+                for (int y = 0; y < tiles; y++) {
+                    setWall(level, roomX[last] + 1 + x, roomY[last] + 1 + y, false);
+                    occupied[(roomX[last] + 1 + x) * height + roomY[last] + 1 + y] = true;
+                }
+            }
+            level.addObject(boss.name(), roomX[last] + 1, roomY[last] + 1);
+        }
+
+        // 4. Doors on corridor tiles that are true chokepoints (walls on both sides)
+        int doorCount = doors >= 0 ? doors : area / 180;
+        for (int placed = 0, tries = 0; placed < doorCount && tries < doorCount * 10 && corridor.size > 0; tries++) {
+            int tile = corridor.get(random.nextInt(corridor.size));
+            int x = tile / height, y = tile % height;
+            boolean chokepoint = (isWall(level, x - 1, y) && isWall(level, x + 1, y))
+                || (isWall(level, x, y - 1) && isWall(level, x, y + 1));
+            if (!chokepoint || occupied[tile]) continue;
+            occupied[tile] = true;
+            level.addObject("Door", x, y);
+            placed++;
+        }
+
+        // 5. Everything else on free room floor
+        int enemyCount = enemies >= 0 ? enemies : area / 65;
+        for (int i = 0; i < enemyCount; i++) {
+            placeInRoom(level, random, REGULAR_ENEMIES[random.nextInt(REGULAR_ENEMIES.length)].name(),
+                roomX, roomY, roomW, roomH, occupied);
+        }
+        int spikeCount = spikes >= 0 ? spikes : area / 35;
+        for (int i = 0; i < spikeCount; i++) {
+            placeInRoom(level, random, "Spike", roomX, roomY, roomW, roomH, occupied);
+        }
+        int itemCount = items >= 0 ? items : area / 230;
+        for (int i = 0; i < itemCount; i++) {
+            placeInRoom(level, random, random.nextBoolean() ? "Health" : "Dagger",
+                roomX, roomY, roomW, roomH, occupied);
+        }
+
+        return level;
+    }
+
+    private void carve(GameLevel level, int x, int y, IntArray corridor) {
+        if (level.isCollidable(x, y)) {
+            setWall(level, x, y, false);
+            corridor.add(x * height + y);
+        }
+    }
+
+    private static void setWall(GameLevel level, int x, int y, boolean wall) {
+        level.setTile(x, y, wall ? WALL_TILE : FLOOR_TILE, wall);
+    }
+
+    private boolean isWall(GameLevel level, int x, int y) {
+        return x < 0 || y < 0 || x >= width || y >= height || level.isCollidable(x, y);
+    }
+
+    // Gives up after a few misses, so a level that is too full still finishes
+    private void placeInRoom(GameLevel level, Random random, String name,
+                             int[] roomX, int[] roomY, int[] roomW, int[] roomH, boolean[] occupied) {
+        for (int tries = 0; tries < 10; tries++) {
+            int room = random.nextInt(roomX.length);
+            int x = roomX[room] + random.nextInt(roomW[room]);
+            int y = roomY[room] + random.nextInt(roomH[room]);
+            int tile = x * height + y;
+            if (level.isCollidable(x, y) || occupied[tile]) continue;
+            occupied[tile] = true;
+            level.addObject(name, x, y);
+            return;
+        }
+    }
+
+    // --- TMX OUTPUT ---
+
+    /**
+     * Writes the level as a Tiled map that {@link GameLevel#GameLevel(String)} (and Tiled) can
+     * open. Assumes the file goes next to the shipped ones in levels/, for the tileset path.
+     */
+    public static String toTmx(GameLevel level) {
+        int width = level.getWidth();
+        int height = level.getHeight();
+        StringBuilder tmx = new StringBuilder(width * height * 3 + 4096);
+
+        tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<map version=\"1.10\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"")
+            .append(width).append("\" height=\"").append(height)
+            .append("\" tilewidth=\"16\" tileheight=\"16\" infinite=\"0\">\n")
+            .append(" <tileset firstgid=\"1\" source=\"../tilesets/atlas.tsx\"/>\n")
+            .append(" <layer id=\"1\" name=\"Tiles\" width=\"").append(width)
+            .append("\" height=\"").append(height).append("\">\n")
+            .append("  <data encoding=\"csv\">\n");
+
+        // Rows are written top to bottom, GameLevel counts y from the bottom. Gids are tile id + 1.
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = 0; x < width; x++) {
+                int tile = level.getTile(x, y);
+                long gid = tile == GameLevel.TILE_EMPTY ? 0 : ((tile & GameLevel.TILE_ID_MASK) + 1) | GameLevel.gidFlags(tile);
+                tmx.append(gid);
+                if (y > 0 || x < width - 1) tmx.append(',');
+            }
+            tmx.append('\n');
+        }
+        tmx.append("</data>\n </layer>\n")
+            .append(" <objectgroup id=\"2\" name=\"Entities\">\n");
+
+        int[] nextId = {1};
+        appendObject(tmx, nextId, "Player", level.getPlayerPosition(), 16, height);
+        if (level.getBossData() != null) {
+            GameLevel.EnemyData boss = level.getBossData();
+            appendObject(tmx, nextId, boss.type.name(), boss.position, boss.type.size, height);
+        }
+        for (Vector2Int door : level.getDoorPositions()) appendObject(tmx, nextId, "Door", door, 16, height);
+        for (Vector2Int spike : level.getSpikePositions()) appendObject(tmx, nextId, "Spike", spike, 16, height);
+        for (GameLevel.EnemyData enemy : level.getEnemies()) {
+            appendObject(tmx, nextId, enemy.type.name(), enemy.position, enemy.type.size, height);
+        }
+        for (GameLevel.ItemData item : level.getItems()) {
+            String name = item.type == GameLevel.ItemType.HealthPotion ? "Health" : "Dagger";
+            appendObject(tmx, nextId, name, item.position, 16, height);
+        }
+
+        tmx.append(" </objectgroup>\n</map>\n");
+        return tmx.toString();
+    }
+
+    public static void writeTmx(GameLevel level, FileHandle file) {
+        file.writeString(toTmx(level), false, "UTF-8");
+    }
+
+    // Plain rectangles, anchored at their top left corner with y pointing down like Tiled does
+    private static void appendObject(StringBuilder tmx, int[] nextId, String name, Vector2Int tile, int size, int height) {
+        int pixelY = (height - tile.y) * 16 - size;
+        tmx.append("  <object id=\"").append(nextId[0]++).append("\" name=\"").append(name)
+            .append("\" type=\"Entity\" x=\"").append(tile.x * 16).append("\" y=\"").append(pixelY)
+            .append("\" width=\"").append(size).append("\" height=\"").append(size).append("\"/>\n");
+    }
+}
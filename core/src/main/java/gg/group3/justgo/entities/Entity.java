@@ -7,7 +7,9 @@ import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.managers.SoundEffect;
 import gg.group3.justgo.managers.SoundManager;
+import gg.group3.justgo.managers.WorldSnapshot;
 import gg.group3.justgo.math.Vector2Int;
 
 public class Entity extends Sprite {
@@ -15,10 +17,20 @@ public class Entity extends Sprite {
         void collided(Entity parent, Entity other);
     }
 
+    // --- TURN STATE (owned by the turn engine) ---
     private final Vector2Int pos;
     private final Vector2Int targetPos;
     private int health = 1;
     private CollisionCallback collisionCallback = null;
+    private boolean facingLeft = false;
+    private int bumpCount = 0;
+    private int bumpDx, bumpDy;
+
+    // --- DRAW STATE (owned by the renderer, fed from WorldSnapshot) ---
+    private final Vector2Int drawFrom;
+    private final Vector2Int drawTo;
+    private int drawHealth = 1;
+    private int seenBumpCount = 0;
 
     private static final float POS_TRANSITION_TIME = 0.3f;
     private final Interpolation posTransition = Interpolation.swingOut;
@@ -43,9 +55,22 @@ public class Entity extends Sprite {
     private GameLevel.ItemType itemType = null;
 
     public Entity(TextureRegion region, int posX, int posY) {
-        super(region);
+        this(posX, posY, region.getRegionWidth());
+        setRegion(region);
+    }
+
+    /**
+     * An entity without graphics, for worlds that are simulated but never drawn (e.g. on the server).
+     * @param sizePixels width and height, a multiple of the 16px tile size
+     */
+    public Entity(int posX, int posY, int sizePixels) {
+        super();
+        setSize(sizePixels, sizePixels);
+        setOrigin(sizePixels / 2f, sizePixels / 2f);
         this.pos = new Vector2Int(posX, posY);
         this.targetPos = new Vector2Int(posX, posY);
+        this.drawFrom = new Vector2Int(posX, posY);
+        this.drawTo = new Vector2Int(posX, posY);
         this.wiggleStart = new Vector2Int();
         this.wiggleTarget = new Vector2Int();
         setPosition(pos.x * 16, pos.y * 16);
@@ -63,10 +88,7 @@ public class Entity extends Sprite {
         if (dx == 0 && dy == 0) return false;
 
         // Snap to grid if not moving
-        if (!pos.equals(targetPos)) {
-            pos.set(targetPos);
-            isWiggling = false;
-        }
+        settle();
 
         Vector2Int newTargetPos = targetPos.cpy().add(dx, dy);
 
@@ -78,7 +100,7 @@ public class Entity extends Sprite {
         for (int ox = 0; ox < myW; ox++) {
             for (int oy = 0; oy < myH; oy++) {
                 if (level.isCollidable(newTargetPos.x + ox, newTargetPos.y + oy)) {
-                    startWiggle(dx, dy);
+                    bump(dx, dy);
                     return false; // Hit a wall
                 }
             }
@@ -107,7 +129,7 @@ public class Entity extends Sprite {
                 myY < otherY + otherH && myY + myH > otherY) {
 
                 // COLLISION DETECTED!
-                startWiggle(dx, dy);
+                bump(dx, dy);
 
                 // Trigger the callback (This starts the Math Question)
                 if (e.collisionCallback != null) {
@@ -120,11 +142,10 @@ public class Entity extends Sprite {
 
         // 3. Movement Allowed
         targetPos.set(newTargetPos);
-        transitionElapsed = 0f;
         if (dx != 0) {
-            setFlip(dx <= 0, false);
+            facingLeft = dx <= 0;
         }
-        SoundManager.getInstance().playSound("step", 1.1f);
+        SoundManager.getInstance().playSound(SoundEffect.Step, 1.1f);
         return true;
     }
 
@@ -281,6 +302,62 @@ public class Entity extends Sprite {
         moveTowards(target, level, collidables, 1);
     }
 
+    /**
+     * Finishes any move from the previous turn, so turn logic never depends on how far
+     * the renderer got with its animation.
+     */
+    public void settle() {
+        pos.set(targetPos);
+    }
+
+    // Remembers that we walked into something; the renderer turns it into a wiggle
+    private void bump(int dx, int dy) {
+        bumpCount++;
+        bumpDx = dx;
+        bumpDy = dy;
+
+        if (dx != 0) {
+            facingLeft = dx <= 0;
+        }
+    }
+
+    /**
+     * Copies the turn state the renderer needs into the given snapshot slot.
+     * Called on the turn engine's thread.
+     */
+    public void writeState(WorldSnapshot snapshot, int slot) {
+        snapshot.targetX[slot] = targetPos.x;
+        snapshot.targetY[slot] = targetPos.y;
+        snapshot.health[slot] = health;
+        snapshot.state[slot] = 0;
+        snapshot.flags[slot] = facingLeft ? WorldSnapshot.FLAG_FACING_LEFT : 0;
+        snapshot.bumpCount[slot] = bumpCount;
+        snapshot.bumpDx[slot] = bumpDx;
+        snapshot.bumpDy[slot] = bumpDy;
+    }
+
+    /**
+     * Starts whatever animation is needed to catch up with the given snapshot slot.
+     * Called on the render thread.
+     */
+    public void applyState(WorldSnapshot snapshot, int slot) {
+        drawHealth = snapshot.health[slot];
+        setFlip((snapshot.flags[slot] & WorldSnapshot.FLAG_FACING_LEFT) != 0, false);
+
+        int tx = snapshot.targetX[slot];
+        int ty = snapshot.targetY[slot];
+        if (tx != drawTo.x || ty != drawTo.y) {
+            drawFrom.set(drawTo);
+            drawTo.set(tx, ty);
+            transitionElapsed = 0f;
+        }
+
+        if (snapshot.bumpCount[slot] != seenBumpCount) {
+            seenBumpCount = snapshot.bumpCount[slot];
+            startWiggle(snapshot.bumpDx[slot], snapshot.bumpDy[slot]);
+        }
+    }
+
     public void update(float dt) {
         // Handle wiggle animation first (takes priority)
         if (isWiggling) {
@@ -288,37 +365,38 @@ public class Entity extends Sprite {
             return;
         }
 
-        if (pos.equals(targetPos)) return;
+        if (drawFrom.equals(drawTo)) return;
         transitionElapsed += dt;
         float progress = Math.min(1f, transitionElapsed / POS_TRANSITION_TIME);
         float interpolatedProgress = posTransition.apply(progress);
 
         // Update Sprite position directly
-        float currentX = pos.x + (targetPos.x - pos.x) * interpolatedProgress;
-        float currentY = pos.y + (targetPos.y - pos.y) * interpolatedProgress;
+        float currentX = drawFrom.x + (drawTo.x - drawFrom.x) * interpolatedProgress;
+        float currentY = drawFrom.y + (drawTo.y - drawFrom.y) * interpolatedProgress;
 
         // World -> Pixels
         setPosition(currentX * 16, currentY * 16);
 
         // Check if the transition is complete
         if (progress >= 1f) {
-            pos.set(targetPos);
+            drawFrom.set(drawTo);
             transitionElapsed = 0f;
-            setPosition(pos.x * 16, pos.y * 16);
+            setPosition(drawFrom.x * 16, drawFrom.y * 16);
         }
     }
 
+    /** Still moving towards its position or wiggling, i.e. {@link #update(float)} has more frames to draw */
+    public boolean isAnimating() {
+        return isWiggling || !drawFrom.equals(drawTo);
+    }
+
     private void startWiggle(int dx, int dy) {
         isWiggling = true;
         wiggleElapsed = 0f;
-        wiggleStart.set(targetPos);
+        wiggleStart.set(drawTo);
 
         // Use the full movement direction for wiggle
-        wiggleTarget.set(targetPos).add(dx, dy);
-
-        if (dx != 0) {
-            setFlip(dx <= 0, false);
-        }
+        wiggleTarget.set(drawTo).add(dx, dy);
     }
 
     private void updateWiggle(float dt) {
@@ -338,7 +416,7 @@ public class Entity extends Sprite {
         if (progress >= 1f) {
             isWiggling = false;
             wiggleElapsed = 0f;
-            setPosition(pos.x * 16, pos.y * 16);
+            setPosition(drawFrom.x * 16, drawFrom.y * 16);
         }
     }
 
@@ -442,9 +520,6 @@ public class Entity extends Sprite {
     public void setPos(Vector2Int newPos) {
         pos.set(newPos);
         targetPos.set(newPos);
-        setPosition(pos.x * 16, pos.y * 16);
-        transitionElapsed = 0f;
-        isWiggling = false;
     }
 
     /**
@@ -474,6 +549,7 @@ public class Entity extends Sprite {
 
     public Entity health(int health) {
         this.health = health;
+        this.drawHealth = health;
         return this;
     }
 
@@ -505,6 +581,11 @@ public class Entity extends Sprite {
         return health;
     }
 
+    /** @return the health as of the last snapshot the renderer picked up */
+    public int getDrawHealth() {
+        return drawHealth;
+    }
+
     public boolean isEnemy() {
         return enemyType != null;
     }
@@ -1,7 +1,7 @@
 package gg.group3.justgo.entities;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import gg.group3.justgo.managers.WorldSnapshot;
 import gg.group3.justgo.utils.MathGen;
 
 public class SpikeEntity extends Entity{
@@ -11,12 +11,14 @@ public class SpikeEntity extends Entity{
         ACTIVE
     }
 
+    private static final State[] STATES = State.values();
+
     private State state;
     private final TextureRegion regionOff;
     private final TextureRegion regionPriming;
     private final TextureRegion regionActive;
 
-    public SpikeEntity(Texture atlas, int x, int y) {
+    public SpikeEntity(TextureRegion atlas, int x, int y) {
         super(new TextureRegion(atlas, 0, 64, 16, 16), x, y);
 
         this.regionOff = new TextureRegion(atlas, 0, 64, 16, 16);
@@ -27,20 +29,52 @@ public class SpikeEntity extends Entity{
         this.setHealth(0); // Spikes are invincible/don't have hearts
     }
 
+    // Without graphics, see Entity(int, int, int)
+    public SpikeEntity(int x, int y) {
+        super(x, y, 16);
+
+        this.regionOff = null;
+        this.regionPriming = null;
+        this.regionActive = null;
+
+        this.state = State.OFF;
+        this.setHealth(0);
+    }
+
     public void advanceState() {
         switch (state) {
             case OFF:
                 state = State.PRIMING;
-                setRegion(regionPriming);
                 break;
             case PRIMING:
                 state = State.ACTIVE;
-                setRegion(regionActive);
                 break;
             case ACTIVE:
                 state = State.OFF;
+                break;
+        }
+    }
+
+    @Override
+    public void writeState(WorldSnapshot snapshot, int slot) {
+        super.writeState(snapshot, slot);
+        snapshot.state[slot] = state.ordinal();
+    }
+
+    @Override
+    public void applyState(WorldSnapshot snapshot, int slot) {
+        super.applyState(snapshot, slot);
+        if (regionOff == null) return; // Built without graphics, nothing to swap
+        switch (STATES[snapshot.state[slot]]) {
+            case OFF:
                 setRegion(regionOff);
                 break;
+            case PRIMING:
+                setRegion(regionPriming);
+                break;
+            case ACTIVE:
+                setRegion(regionActive);
+                break;
         }
     }
 
@@ -50,6 +84,6 @@ public class SpikeEntity extends Entity{
 
     // Helper to get the math problem for this trap
     public MathGen getTrapProblem() {
-        return MathGen.generateBasicArithmetic(10);
+        return MathGen.getForLevel(1, false); // Basic arithmetic up to 10, served from the pool
     }
 }
@@ -0,0 +1,50 @@
+package gg.group3.justgo.managers;
+
+/**
+ * Groups of assets a platform may deliver after the game started. The web build only downloads
+ * what the splash, the menus and the first level need before starting, and fetches audio and
+ * the later levels once asked for; everywhere else every file is at hand.
+ * <p>
+ * The installed instance has every bundle ready and calls back at once, a platform replaces it
+ * when it needs to (the html launcher does). Callbacks run on the render thread.
+ */
+public class AssetBundles {
+    public static final String AUDIO = "audio";
+    /** The background music, on its own so the sound effects don't wait for it */
+    public static final String MUSIC = "music";
+
+    private static AssetBundles instance = new AssetBundles();
+
+    protected AssetBundles() { }
+
+    public static AssetBundles get() {
+        return instance;
+    }
+
+    /** Call before the game starts. */
+    public static void install(AssetBundles bundles) {
+        instance = bundles;
+    }
+
+    /** The bundle holding a level's map, the first level comes with the game */
+    public static String level(int levelIndex) {
+        return "level" + levelIndex;
+    }
+
+    /** Makes a bundle's files available, then runs {@code whenReady} (right away if they are). */
+    public void fetch(String bundle, Runnable whenReady) {
+        fetch(bundle, whenReady, () -> { });
+    }
+
+    /**
+     * Like {@link #fetch(String, Runnable)}, but runs {@code whenFailed} instead if the files
+     * could not be had. Fetching the bundle again after that tries again.
+     */
+    public void fetch(String bundle, Runnable whenReady, Runnable whenFailed) {
+        whenReady.run();
+    }
+
+    public boolean isReady(String bundle) {
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package gg.group3.justgo.managers;
+
+import gg.group3.justgo.entities.Entity;
+
+/**
+ * What answering a question does to the player and the target. Shared by the game screen
+ * and the server, so a remote session plays by exactly the same rules.
+ */
+public final class BattleRules {
+    private BattleRules() { }
+
+    // How many questions a target asks before the battle ends on its own
+    public static int questionsFor(Entity target) {
+        return target.isBoss() ? 3 : 1;
+    }
+
+    public static void applyAnswer(Entity player, Entity target, boolean correct) {
+        if (correct) {
+            target.damage(player.getDamageValue());
+        } else {
+            target.heal(1);
+            player.damage(target.isBoss() ? 2 : 1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.utils.IntArray;
+import gg.group3.justgo.math.TileRect;
+
+/**
+ * Entity slots bucketed by 8x8 tile cells, so the renderer can find what is on screen without
+ * walking every entity. Rebuilt from each new snapshot (once per turn) with a counting sort,
+ * on the render thread.
+ */
+class DrawIndex {
+    private static final int CELL_SHIFT = 3; // 8x8 tiles per cell
+    // An entity is drawn at most this many tiles away from its target while it walks there
+    private static final int MARGIN = 1;
+
+    private final int cellsX, cellsY;
+    private final int[] cellStart; // Slots of cell c are slots[cellStart[c] .. cellStart[c + 1])
+    private final int[] cursor;
+    private int[] slots = new int[0];
+    private int[] cellOf = new int[0];
+    private int[] tileX = new int[0], tileY = new int[0];
+
+    DrawIndex(int width, int height) {
+        cellsX = (width >> CELL_SHIFT) + 1;
+        cellsY = (height >> CELL_SHIFT) + 1;
+        cellStart = new int[cellsX * cellsY + 1];
+        cursor = new int[cellsX * cellsY];
+    }
+
+    void rebuild(WorldSnapshot snapshot) {
+        int count = snapshot.count;
+        if (slots.length < count) {
+            slots = new int[count];
+            cellOf = new int[count];
+            tileX = new int[count];
+            tileY = new int[count];
+        }
+
+        for (int c = 0; c < cellStart.length; c++) cellStart[c] = 0;
+        for (int i = 0; i < count; i++) {
+            tileX[i] = snapshot.targetX[i];
+            tileY[i] = snapshot.targetY[i];
+            int cx = Math.min(cellsX - 1, Math.max(0, tileX[i] >> CELL_SHIFT));
+            int cy = Math.min(cellsY - 1, Math.max(0, tileY[i] >> CELL_SHIFT));
+            cellOf[i] = cy * cellsX + cx;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cellsX * cellsY; c++) {
+            cellStart[c + 1] += cellStart[c];
+            cursor[c] = cellStart[c];
+        }
+        for (int i = 0; i < count; i++) slots[cursor[cellOf[i]]++] = i;
+    }
+
+    /** Adds the slots of every entity that may show inside {@code rect}, in no particular order. */
+    void query(TileRect rect, IntArray out) {
+        int x0 = rect.x0 - MARGIN, y0 = rect.y0 - MARGIN;
+        int x1 = rect.x1 + MARGIN, y1 = rect.y1 + MARGIN;
+        int cx0 = Math.max(0, x0 >> CELL_SHIFT), cy0 = Math.max(0, y0 >> CELL_SHIFT);
+        int cx1 = Math.min(cellsX - 1, x1 >> CELL_SHIFT), cy1 = Math.min(cellsY - 1, y1 >> CELL_SHIFT);
+
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int cell = cy * cellsX + cx;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int slot = slots[k];
+                    if (tileX[slot] >= x0 && tileX[slot] <= x1 && tileY[slot] >= y0 && tileY[slot] <= y1) out.add(slot);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.SkinLoader;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * The one place textures, skins and audio are loaded from, so screens share them instead of
+ * each loading its own copy.
+ * <p>
+ * Built on libGDX's {@link AssetManager}, which counts references per file: every
+ * {@link #acquire} needs a matching {@link #release}, and an asset is disposed when its count
+ * drops to zero. {@link #preload()} queues what the game needs and holds one reference to each
+ * for the game's lifetime, so screen switches never reload them. The queue is worked off by
+ * {@link #update()} (every frame, see {@code SplashScreen}), without blocking the render thread.
+ * <p>
+ * Sounds and music go through managers of their own, {@link #AUDIO_LOADERS} of them, each with a
+ * loader thread. Files are spread over them by path, so several effects decode at once, in
+ * parallel with the textures and skins, and the splash screen never waits for them.
+ */
+public class GameAssets implements Disposable {
+    private static GameAssets instance;
+
+    // --- DESCRIPTORS ---
+    public static final AssetDescriptor<Texture> SPLASH = new AssetDescriptor<>("images/splash.jpg", Texture.class);
+    /**
+     * Sprites (region "atlas", laid out like images/atlas.png), the title, the UI regions, the font
+     * pages and a "white" pixel on one page, so a frame binds one texture. Built by core:packTextures.
+     */
+    public static final AssetDescriptor<TextureAtlas> GAME_ATLAS = new AssetDescriptor<>("packed/game.atlas", TextureAtlas.class);
+    // Skins find their fonts' pages in the atlas by font name
+    public static final AssetDescriptor<Skin> MENU_SKIN = new AssetDescriptor<>("ui/menu.skin", Skin.class,
+        new SkinLoader.SkinParameter(GAME_ATLAS.fileName));
+    public static final AssetDescriptor<Skin> QUESTION_SKIN = new AssetDescriptor<>("ui/question-screen.skin", Skin.class,
+        new SkinLoader.SkinParameter(GAME_ATLAS.fileName));
+
+    /** How many audio files decode at once */
+    private static final int AUDIO_LOADERS = 3;
+
+    private final AssetManager manager = new AssetManager();
+    private final AssetManager[] audioManagers = new AssetManager[AUDIO_LOADERS];
+    private boolean reportedDone = false;
+    private boolean reportedAudioDone = false;
+
+    private GameAssets() {
+        for (int i = 0; i < AUDIO_LOADERS; i++) audioManagers[i] = new AssetManager();
+    }
+
+    public static GameAssets getInstance() {
+        if (instance == null) {
+            instance = new GameAssets();
+        }
+        return instance;
+    }
+
+    /** Queues everything the menus and the game use. Sounds and music are queued by {@link SoundManager}. */
+    public void preload() {
+        StartupTimeline.getInstance().begin("graphics assets");
+        manager.load(GAME_ATLAS);
+        manager.load(MENU_SKIN);
+        manager.load(QUESTION_SKIN);
+    }
+
+    /** Queues an asset without waiting for it; the caller owns one reference once it loaded. */
+    public <T> void load(AssetDescriptor<T> descriptor) {
+        managerFor(descriptor.fileName, descriptor.type).load(descriptor);
+    }
+
+    /**
+     * Loads a little more of both queues, render thread only.
+     * @return true once no texture or skin is left to load, audio may still be decoding
+     */
+    public boolean update() {
+        boolean done = manager.update();
+        if (done && !reportedDone) {
+            reportedDone = true;
+            Gdx.app.log("Assets", manager.getLoadedAssets() + " assets loaded");
+            StartupTimeline.getInstance().end("graphics assets");
+        } else if (!done) {
+            reportedDone = false;
+        }
+
+        boolean audioDone = true;
+        int audioLoaded = 0;
+        for (AssetManager audioManager : audioManagers) {
+            if (!audioManager.update()) audioDone = false;
+            audioLoaded += audioManager.getLoadedAssets();
+        }
+        if (audioDone && !reportedAudioDone) {
+            reportedAudioDone = true;
+            Gdx.app.log("Assets", audioLoaded + " sounds loaded");
+            StartupTimeline.getInstance().end("audio");
+        } else if (!audioDone) {
+            reportedAudioDone = false;
+        }
+        return done;
+    }
+
+    /** Whether sounds or music are still queued, {@link #update()} has to keep being called */
+    public boolean isAudioLoading() {
+        for (AssetManager audioManager : audioManagers) {
+            if (!audioManager.isFinished()) return true;
+        }
+        return false;
+    }
+
+    /** From 0 to 1, how much of the texture and skin queue is loaded */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    public boolean isLoaded(String path) {
+        return manager.isLoaded(path) || audioManagerFor(path).isLoaded(path);
+    }
+
+    /** An asset that is already loaded, without taking a reference. Null if it isn't. */
+    public <T> T getIfLoaded(String path, Class<T> type) {
+        AssetManager owner = managerFor(path, type);
+        return owner.isLoaded(path, type) ? owner.get(path, type) : null;
+    }
+
+    /**
+     * Takes a reference to an asset, loading it right away if the queue hasn't got to it yet.
+     * Pair with {@link #release}.
+     */
+    public <T> T acquire(AssetDescriptor<T> descriptor) {
+        AssetManager owner = managerFor(descriptor.fileName, descriptor.type);
+        owner.load(descriptor);
+        // A file that is already loaded counts the new reference as the queue reaches it
+        return owner.finishLoadingAsset(descriptor);
+    }
+
+    /** Gives back a reference taken by {@link #acquire} or {@link #load}. */
+    public void release(AssetDescriptor<?> descriptor) {
+        release(descriptor.fileName);
+    }
+
+    public void release(String path) {
+        if (manager.contains(path)) manager.unload(path);
+        else if (audioManagerFor(path).contains(path)) audioManagerFor(path).unload(path);
+    }
+
+    private AssetManager managerFor(String path, Class<?> type) {
+        return type == Sound.class || type == Music.class ? audioManagerFor(path) : manager;
+    }
+
+    // Always the same one for a file, so a release finds what a load queued
+    private AssetManager audioManagerFor(String path) {
+        return audioManagers[(path.hashCode() & 0x7fffffff) % AUDIO_LOADERS];
+    }
+
+    @Override
+    public void dispose() {
+        manager.dispose();
+        for (AssetManager audioManager : audioManagers) audioManager.dispose();
+        instance = null;
+    }
+}
@@ -0,0 +1,51 @@
+package gg.group3.justgo.managers;
+
+/**
+ * Hooks around the moments worth seeing in a profiler recording: level loads, turns, fog
+ * updates, question generation, questions on screen and screen changes.
+ * <p>
+ * The installed instance does nothing unless a platform replaces it (the desktop launcher
+ * does with {@code --jfr}, turning these into Java Flight Recorder events). A span starts with
+ * {@code begin...}, which returns a token (null when nobody records) to pass to its {@code end...}.
+ */
+public class GameTrace {
+    private static GameTrace instance = new GameTrace();
+
+    protected GameTrace() { }
+
+    public static GameTrace get() {
+        return instance;
+    }
+
+    /** Call before the game starts, the instance is read from any thread without locking. */
+    public static void install(GameTrace trace) {
+        instance = trace;
+    }
+
+    // --- SPANS ---
+
+    public Object beginLevelLoad(int levelIndex) { return null; }
+
+    public void endLevelLoad(Object span, int levelIndex, int width, int height, int entityCount) { }
+
+    public Object beginTurn() { return null; }
+
+    public void endTurn(Object span, int levelIndex, int turn, int entityCount, boolean playerMoved) { }
+
+    public Object beginVisibilityUpdate() { return null; }
+
+    public void endVisibilityUpdate(Object span, int tilesTouched) { }
+
+    public Object beginProblemGeneration() { return null; }
+
+    public void endProblemGeneration(Object span, int level, boolean isBoss) { }
+
+    /** From the moment a question shows until it is hidden again */
+    public Object beginQuestion() { return null; }
+
+    public void endQuestion(Object span, int answers, boolean lastCorrect) { }
+
+    public Object beginScreenChange() { return null; }
+
+    public void endScreenChange(Object span, String from, String to) { }
+}
@@ -0,0 +1,114 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+import gg.group3.justgo.utils.LogHistogram;
+
+/**
+ * Measures how long a move takes to reach the screen: from the key event, to the end of its
+ * {@link WorldManager#processTurn(int, int)}, to the first frame drawn with the turn's result.
+ * A frame counts as shown when the next one starts, i.e. after the backend swapped buffers.
+ * <p>
+ * Only one move is ever in flight (input is ignored until the last turn is done), so a single
+ * pending slot is enough. Off by default; when off each hook is one boolean check.
+ */
+public class LatencyTracer {
+    private static LatencyTracer instance;
+
+    private final LogHistogram inputToTurn = new LogHistogram();
+    private final LogHistogram turnToFrame = new LogHistogram();
+    private final LogHistogram inputToFrame = new LogHistogram();
+    private volatile boolean enabled;
+
+    // The move in flight
+    private volatile int pendingTurn = -1;
+    private long inputNanos;
+    private volatile long turnDoneNanos;
+    private boolean drawn; // Its first frame was drawn, waiting for the swap
+
+    private LatencyTracer() { }
+
+    public static synchronized LatencyTracer getInstance() {
+        if (instance == null) instance = new LatencyTracer();
+        return instance;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    /**
+     * Render thread, right before a move is submitted: a threaded engine may finish the turn
+     * before submitting returns. Take it back with {@link #inputRejected()} if it wasn't taken.
+     * @param eventNanos when the key went down, in {@link TimeUtils#nanoTime()} time
+     * @param turn the turn the move will become
+     */
+    public void inputSubmitted(long eventNanos, int turn) {
+        if (!enabled) return;
+        inputNanos = eventNanos;
+        turnDoneNanos = 0;
+        drawn = false;
+        pendingTurn = turn;
+    }
+
+    /** Render thread, the move registered by {@link #inputSubmitted} was not accepted */
+    public void inputRejected() {
+        if (!enabled) return;
+        drawn = false;
+        pendingTurn = -1;
+    }
+
+    // Turn thread, at the end of every turn
+    public void turnProcessed(int turn) {
+        if (!enabled || turn != pendingTurn) return;
+        turnDoneNanos = TimeUtils.nanoTime();
+        inputToTurn.record(turnDoneNanos - inputNanos);
+    }
+
+    /** Render thread, after the world was drawn. @param drawnTurn the turn the drawn entities show */
+    public void frameDrawn(int drawnTurn) {
+        if (!enabled || pendingTurn < 0 || drawn) return;
+        if (drawnTurn >= pendingTurn) drawn = true;
+    }
+
+    // Render thread, at the start of every frame
+    public void frameStarted() {
+        if (!enabled || !drawn) return;
+        long now = TimeUtils.nanoTime();
+        if (turnDoneNanos != 0) turnToFrame.record(now - turnDoneNanos);
+        inputToFrame.record(now - inputNanos);
+        drawn = false;
+        pendingTurn = -1;
+    }
+
+    public void reset() {
+        inputToTurn.reset();
+        turnToFrame.reset();
+        inputToFrame.reset();
+    }
+
+    // --- EXPORT (times in microseconds) ---
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("stage,count,mean_us,p50_us,p90_us,p99_us,max_us\n");
+        appendRow(csv, "inputToTurn", inputToTurn);
+        appendRow(csv, "turnToFrame", turnToFrame);
+        appendRow(csv, "inputToFrame", inputToFrame);
+        return csv.toString();
+    }
+
+    private static void appendRow(StringBuilder csv, String stage, LogHistogram histogram) {
+        csv.append(stage).append(',').append(histogram.getCount())
+            .append(',').append(TurnProfiler.micros(histogram.getMean()))
+            .append(',').append(TurnProfiler.micros(histogram.getPercentile(50)))
+            .append(',').append(TurnProfiler.micros(histogram.getPercentile(90)))
+            .append(',').append(TurnProfiler.micros(histogram.getPercentile(99)))
+            .append(',').append(TurnProfiler.micros(histogram.getMax())).append('\n');
+    }
+
+    public void writeTo(FileHandle file) {
+        file.writeString(toCsv(), false);
+    }
+
+    public LogHistogram getInputToFrame() { return inputToFrame; }
+}
@@ -0,0 +1,172 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Collects per-frame costs: frame time, the update/draw split, batch flushes and texture
+ * binds, plus memory figures once per second from the platform (see {@link MemoryStats}).
+ * Feeds the HUD's performance overlay and, if one is set, a {@link Sink} such as a log file.
+ * <p>
+ * Frame times are always kept (a few array writes per frame). GL call counting wraps every GL
+ * call, so it is only switched on while something shows or logs it.
+ */
+public class PerfMonitor {
+    public static final int FRAME_HISTORY = 120; // Frames in the overlay graph
+    private static final long SAMPLE_NANOS = 1_000_000_000L;
+
+    /** Heap and GC figures; the JVM has them, a browser doesn't. -1 means unknown. */
+    public interface MemoryStats {
+        long getHeapUsedBytes();
+        /** Bytes allocated since startup, by all threads */
+        long getAllocatedBytes();
+        long getGcCount();
+        long getGcMillis();
+    }
+
+    /** Receives one {@link Sample} per second, on the render thread. */
+    public interface Sink {
+        void write(Sample sample);
+    }
+
+    /** One second of frames, summed up. Reused, copy what you keep. */
+    public static class Sample {
+        public long timeMillis; // Since the monitor started
+        public int frames;
+        public float frameMsAvg, frameMsMax;
+        public float updateMsAvg, drawMsAvg;
+        public float renderCallsAvg; // Batch flushes per frame
+        public int maxSpritesInBatch; // Largest flush in this second
+        public float textureBindsAvg, drawCallsAvg; // -1 while GL counting is off
+        public long heapUsedBytes = -1, allocatedBytesPerSecond = -1;
+        public long gcCount = -1, gcMillis = -1; // In this second
+
+        public static final String CSV_HEADER = "time_ms,frames,frame_ms_avg,frame_ms_max,update_ms_avg,draw_ms_avg,"
+            + "render_calls,max_sprites,texture_binds,draw_calls,heap_used_bytes,alloc_bytes_per_s,gc_count,gc_ms";
+
+        public String toCsv() {
+            return timeMillis + "," + frames + "," + frameMsAvg + "," + frameMsMax + "," + updateMsAvg + ","
+                + drawMsAvg + "," + renderCallsAvg + "," + maxSpritesInBatch + "," + textureBindsAvg + ","
+                + drawCallsAvg + "," + heapUsedBytes + "," + allocatedBytesPerSecond + "," + gcCount + "," + gcMillis;
+        }
+    }
+
+    private static PerfMonitor instance;
+
+    private final float[] frameMs = new float[FRAME_HISTORY];
+    private int frameHead = 0; // Next slot to write
+    private final Sample latest = new Sample();
+
+    private MemoryStats memoryStats;
+    private Sink sink;
+    private GLProfiler glProfiler;
+    private boolean overlayVisible = false;
+
+    // --- CURRENT SAMPLE ---
+    private final long startNanos = TimeUtils.nanoTime();
+    private long sampleStart = startNanos;
+    private int frames;
+    private float frameMsSum, frameMsMax, updateMsSum, drawMsSum;
+    private int lastTotalRenderCalls, renderCalls, textureBinds, drawCalls;
+    private long lastAllocated = -1, lastGcCount = -1, lastGcMillis = -1;
+
+    private PerfMonitor() { }
+
+    public static PerfMonitor getInstance() {
+        if (instance == null) {
+            instance = new PerfMonitor();
+        }
+        return instance;
+    }
+
+    public void setMemoryStats(MemoryStats memoryStats) {
+        this.memoryStats = memoryStats;
+    }
+
+    public void setSink(Sink sink) {
+        this.sink = sink;
+    }
+
+    public void setOverlayVisible(boolean visible) {
+        this.overlayVisible = visible;
+    }
+
+    /**
+     * Call once per rendered frame, after all drawing.
+     * @param deltaTime the whole frame as the backend measured it, including vsync waits
+     */
+    public void recordFrame(float deltaTime, long updateNanos, long drawNanos, SpriteBatch batch) {
+        float ms = deltaTime * 1000f;
+        frameMs[frameHead] = ms;
+        frameHead = (frameHead + 1) % FRAME_HISTORY;
+
+        frames++;
+        frameMsSum += ms;
+        frameMsMax = Math.max(frameMsMax, ms);
+        updateMsSum += updateNanos / 1_000_000f;
+        drawMsSum += drawNanos / 1_000_000f;
+        // Per-frame flushes across every begin/end of the shared batch
+        renderCalls += batch.totalRenderCalls - lastTotalRenderCalls;
+        lastTotalRenderCalls = batch.totalRenderCalls;
+
+        boolean countGl = overlayVisible || sink != null;
+        if (countGl && glProfiler == null) glProfiler = new GLProfiler(Gdx.graphics);
+        if (glProfiler != null && glProfiler.isEnabled() != countGl) {
+            if (countGl) glProfiler.enable();
+            else glProfiler.disable();
+        }
+        if (countGl) {
+            textureBinds += glProfiler.getTextureBindings();
+            drawCalls += glProfiler.getDrawCalls();
+            glProfiler.reset();
+        }
+
+        long now = TimeUtils.nanoTime();
+        if (now - sampleStart >= SAMPLE_NANOS) finishSample(now, batch, countGl);
+    }
+
+    private void finishSample(long now, SpriteBatch batch, boolean countGl) {
+        float seconds = (now - sampleStart) / 1e9f;
+        latest.timeMillis = (now - startNanos) / 1_000_000L;
+        latest.frames = frames;
+        latest.frameMsAvg = frameMsSum / frames;
+        latest.frameMsMax = frameMsMax;
+        latest.updateMsAvg = updateMsSum / frames;
+        latest.drawMsAvg = drawMsSum / frames;
+        latest.renderCallsAvg = (float) renderCalls / frames;
+        latest.maxSpritesInBatch = batch.maxSpritesInBatch;
+        batch.maxSpritesInBatch = 0; // The batch keeps the maximum for its lifetime otherwise
+        latest.textureBindsAvg = countGl ? (float) textureBinds / frames : -1;
+        latest.drawCallsAvg = countGl ? (float) drawCalls / frames : -1;
+
+        if (memoryStats != null) {
+            long allocated = memoryStats.getAllocatedBytes();
+            long gcCount = memoryStats.getGcCount();
+            long gcMillis = memoryStats.getGcMillis();
+            latest.heapUsedBytes = memoryStats.getHeapUsedBytes();
+            latest.allocatedBytesPerSecond = allocated < 0 || lastAllocated < 0 ? -1 : (long) ((allocated - lastAllocated) / seconds);
+            latest.gcCount = gcCount < 0 || lastGcCount < 0 ? -1 : gcCount - lastGcCount;
+            latest.gcMillis = gcMillis < 0 || lastGcMillis < 0 ? -1 : gcMillis - lastGcMillis;
+            lastAllocated = allocated;
+            lastGcCount = gcCount;
+            lastGcMillis = gcMillis;
+        }
+
+        if (sink != null) sink.write(latest);
+
+        sampleStart = now;
+        frames = 0;
+        frameMsSum = frameMsMax = updateMsSum = drawMsSum = 0;
+        renderCalls = textureBinds = drawCalls = 0;
+    }
+
+    /** The last full second */
+    public Sample getLatest() { return latest; }
+
+    /** Frame time in ms, {@code age} 0 being the newest frame */
+    public float getFrameMs(int age) {
+        return frameMs[(frameHead - 1 - age + 2 * FRAME_HISTORY) % FRAME_HISTORY];
+    }
+}
@@ -0,0 +1,87 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * Draws frames only while something changes. When enabled, rendering is switched to
+ * non-continuous and a frame leads to another only if a screen called {@link #requestFrame()}
+ * during it: an entity still moving, a scene2d action running, a turn in flight. Input events
+ * and posted runnables wake the backend by themselves, so a still screen costs no frames at all.
+ * <p>
+ * Off by default (the web and headless builds render as before); the desktop launcher turns it
+ * on. While the window is unfocused frames are capped at {@link #UNFOCUSED_FPS}.
+ */
+public class RenderScheduler {
+    public static final int UNFOCUSED_FPS = 20;
+    // The first frame after an idle stretch sees the whole stretch as its delta, animations get this instead
+    private static final float RESUME_DELTA = 1 / 60f;
+
+    private static RenderScheduler instance;
+
+    private boolean enabled = false;
+    private int foregroundFps = 0; // 0 = uncapped
+    private boolean frameRequested = false; // Since the last frame ended
+    private boolean previousRequested = true;
+
+    private RenderScheduler() { }
+
+    public static RenderScheduler getInstance() {
+        if (instance == null) {
+            instance = new RenderScheduler();
+        }
+        return instance;
+    }
+
+    /** Before the application starts. @param foregroundFps the cap while focused, to restore after a blur */
+    public void setEnabled(boolean enabled, int foregroundFps) {
+        this.enabled = enabled;
+        this.foregroundFps = foregroundFps;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** From {@code ApplicationListener.create()} */
+    public void start() {
+        if (enabled) Gdx.graphics.setContinuousRendering(false);
+    }
+
+    /**
+     * Call before rendering a frame.
+     * @return the delta to animate with
+     */
+    public float beginFrame(float delta) {
+        return previousRequested ? delta : Math.min(delta, RESUME_DELTA);
+    }
+
+    /** Asks for the frame after this one, e.g. because an animation isn't done. Render thread only. */
+    public void requestFrame() {
+        frameRequested = true;
+    }
+
+    public void endFrame() {
+        previousRequested = frameRequested || !enabled;
+        if (enabled && frameRequested) Gdx.graphics.requestRendering();
+        frameRequested = false;
+    }
+
+    /** From the platform's window callbacks */
+    public void setFocused(boolean focused) {
+        if (enabled) Gdx.graphics.setForegroundFPS(focused ? foregroundFps : UNFOCUSED_FPS);
+    }
+
+    /** Whether the actor or any actor below it has a running action */
+    public static boolean hasActions(Actor actor) {
+        if (actor.hasActions()) return true;
+        if (!(actor instanceof Group)) return false;
+        SnapshotArray<Actor> children = ((Group) actor).getChildren();
+        for (int i = 0; i < children.size; i++) {
+            if (hasActions(children.get(i))) return true;
+        }
+        return false;
+    }
+}
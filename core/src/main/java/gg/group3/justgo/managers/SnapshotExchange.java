@@ -0,0 +1,49 @@
+package gg.group3.justgo.managers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer between the turn engine (single writer) and the renderer (single reader).
+ * <p>
+ * The writer fills {@link #beginWrite()} and calls {@link #publish()}; the reader calls
+ * {@link #acquire()} once per frame and keeps drawing the returned snapshot until the next call.
+ * Neither side ever waits for the other: if the writer publishes twice between two frames the
+ * older snapshot is simply recycled.
+ */
+public class SnapshotExchange {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4; // Set while the middle buffer hasn't been picked up yet
+
+    private final WorldSnapshot[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 2;  // Only touched by the writer
+    private int front = 0; // Only touched by the reader
+
+    public SnapshotExchange(int capacity, int fogWidth, int fogHeight) {
+        buffers = new WorldSnapshot[] {
+            new WorldSnapshot(capacity, fogWidth, fogHeight),
+            new WorldSnapshot(capacity, fogWidth, fogHeight),
+            new WorldSnapshot(capacity, fogWidth, fogHeight)
+        };
+    }
+
+    // --- WRITER SIDE ---
+
+    public WorldSnapshot beginWrite() {
+        return buffers[back];
+    }
+
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // --- READER SIDE ---
+
+    /** @return the newest published snapshot, owned by the caller until the next acquire */
+    public WorldSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
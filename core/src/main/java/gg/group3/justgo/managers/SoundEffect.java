@@ -0,0 +1,40 @@
+package gg.group3.justgo.managers;
+
+/**
+ * Every sound effect in the game, played through {@link SoundManager#playSound(SoundEffect)}.
+ * The ordinal is the handle, so playing one is an array lookup.
+ */
+public enum SoundEffect {
+    // Name(File in assets/audio/, Voices, Priority, Busy millis[, Lazy])
+    // Voices = how many may overlap, Priority = who wins when all voices are taken,
+    // Busy millis = how long a voice counts as playing (about the length of the file),
+    // Lazy = rarely heard, only loaded the first time it plays (which stays silent)
+    Step("audio/player-move.wav", 2, 0, 250),
+    Hit("audio/hit.mp3", 3, 2, 500),
+    Kill("audio/boss_hit.mp3", 2, 3, 1000), // Use for boss or death
+    Correct("audio/on_correct.mp3", 1, 4, 1000),
+    Wrong("audio/on_wrong.wav", 1, 4, 1000),
+    ConsumePotion("audio/consume-potion.mp3", 1, 2, 800, true),
+    DaggerEquip("audio/dagger-equip.MP3", 1, 2, 800, true),
+    Click("audio/select.mp3", 2, 1, 250),
+    Splat("audio/splat.ogg", 2, 1, 600, true),
+    DoorOpening("audio/doorOpening.mp3", 1, 3, 1500);
+
+    public final String path;
+    public final int maxVoices;
+    public final int priority;
+    public final int busyMillis;
+    public final boolean lazy;
+
+    SoundEffect(String path, int maxVoices, int priority, int busyMillis) {
+        this(path, maxVoices, priority, busyMillis, false);
+    }
+
+    SoundEffect(String path, int maxVoices, int priority, int busyMillis, boolean lazy) {
+        this.path = path;
+        this.maxVoices = maxVoices;
+        this.priority = priority;
+        this.busyMillis = busyMillis;
+        this.lazy = lazy;
+    }
+}
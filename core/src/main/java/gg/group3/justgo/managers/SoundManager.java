@@ -1,21 +1,56 @@
 package gg.group3.justgo.managers;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.loaders.MusicLoader;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
 
-import java.util.HashMap;
-
+/**
+ * Plays the {@link SoundEffect}s and the background music.
+ * <p>
+ * Effects share a fixed table of {@link #MAX_VOICES} voices, so however many entities move in a
+ * turn the mixer and the backend's sources stay bounded. Each effect plays at most once per frame
+ * (a turn is applied within one frame, so ten enemies stepping make one step sound), overlaps
+ * itself at most {@link SoundEffect#maxVoices} times, and when every voice is busy it takes the
+ * voice of the least important sound playing, or is dropped if all of them matter more.
+ * <p>
+ * Loading never blocks: files decode on {@link GameAssets}' audio loader thread and an effect
+ * that isn't loaded yet plays nothing. {@link SoundEffect#lazy} effects are only queued the first
+ * time they are played.
+ */
 public class SoundManager implements Disposable {
+    /** Below the desktop backend's 16 sources, the music needs one too */
+    public static final int MAX_VOICES = 12;
+    private static final SoundEffect[] EFFECTS = SoundEffect.values();
+
     private static SoundManager instance;
 
-    // Store sounds in a map so we can reference them by simple names
-    private final HashMap<String, Sound> soundEffects;
+    // Indexed by SoundEffect ordinal, the sounds themselves live in GameAssets
+    private final AssetDescriptor<Sound>[] soundAssets;
+    private final boolean[] queued; // Handed to GameAssets, which holds a reference until dispose()
+    private final long[] lastPlayedFrame;
+    private final boolean[] pending; // Already posted to the render thread, guarded by itself
+
+    // --- VOICES --- (render thread only)
+    private final int[] voiceEffect = new int[MAX_VOICES]; // Ordinal, -1 for a free voice
+    private final long[] voiceId = new long[MAX_VOICES];
+    private final long[] voiceEnd = new long[MAX_VOICES]; // TimeUtils.millis() when it counts as done
+
+    private AssetDescriptor<Music> currentMusicAsset;
     private Music currentMusic;
+    private boolean deferPlayback = false;
 
+    @SuppressWarnings("unchecked")
     private SoundManager() {
-        soundEffects = new HashMap<>();
+        soundAssets = new AssetDescriptor[EFFECTS.length];
+        queued = new boolean[EFFECTS.length];
+        lastPlayedFrame = new long[EFFECTS.length];
+        pending = new boolean[EFFECTS.length];
+        for (int i = 0; i < EFFECTS.length; i++) lastPlayedFrame[i] = -1;
+        for (int v = 0; v < MAX_VOICES; v++) voiceEffect[v] = -1;
     }
 
     public static SoundManager getInstance() {
@@ -26,64 +61,171 @@ public class SoundManager implements Disposable {
     }
 
     /**
-     * Loads a sound effect into memory.
-     * @param name The nickname for the sound (e.g., "jump")
-     * @param path The file path (e.g., "audio/jump.wav")
+     * Registers every sound effect and queues the ones that aren't {@link SoundEffect#lazy} for
+     * loading. Until one has loaded, playing it does nothing.
      */
-    public void loadSound(String name, String path) {
-        if (!Gdx.files.internal(path).exists()) {
-            Gdx.app.log("Audio", "Warning: Sound file not found: " + path);
-            return;
+    public void loadSounds() {
+        for (SoundEffect effect : EFFECTS) {
+            loadSound(effect, !effect.lazy);
+        }
+    }
+
+    public void loadSound(SoundEffect effect, boolean now) {
+        int index = effect.ordinal();
+        if (soundAssets[index] == null) {
+            if (!Gdx.files.internal(effect.path).exists()) {
+                Gdx.app.log("Audio", "Warning: Sound file not found: " + effect.path);
+                return;
+            }
+            soundAssets[index] = new AssetDescriptor<>(effect.path, Sound.class);
+        }
+        if (now && !queued[index]) {
+            queued[index] = true;
+            GameAssets.getInstance().load(soundAssets[index]);
         }
-        Sound sound = Gdx.audio.newSound(Gdx.files.internal(path));
-        soundEffects.put(name, sound);
     }
 
     /**
-     * Loads and plays background music (looping).
+     * Loads background music in the background and plays it (looping) once it has loaded.
      */
     public void playMusic(String path) {
-        if (currentMusic != null) {
-            currentMusic.stop();
-            currentMusic.dispose();
-        }
+        stopMusic();
 
         if (!Gdx.files.internal(path).exists()) {
             Gdx.app.log("Audio", "Warning: Music file not found: " + path);
             return;
         }
 
-        currentMusic = Gdx.audio.newMusic(Gdx.files.internal(path));
-        currentMusic.setLooping(true);
-        currentMusic.setVolume(0.5f); // 50% volume
-        currentMusic.play();
+        MusicLoader.MusicParameter parameter = new MusicLoader.MusicParameter();
+        AssetDescriptor<Music> asset = new AssetDescriptor<>(path, Music.class, parameter);
+        parameter.loadedCallback = (manager, fileName, type) -> {
+            if (currentMusicAsset != asset) return; // Replaced while loading
+            currentMusic = manager.get(fileName, Music.class);
+            currentMusic.setLooping(true);
+            currentMusic.setVolume(0.5f); // 50% volume
+            currentMusic.play();
+        };
+        currentMusicAsset = asset;
+        GameAssets.getInstance().load(asset);
+    }
+
+    private void stopMusic() {
+        if (currentMusic != null) {
+            currentMusic.stop();
+            currentMusic = null;
+        }
+        if (currentMusicAsset != null) {
+            GameAssets.getInstance().release(currentMusicAsset);
+            currentMusicAsset = null;
+        }
+    }
+
+    public void playSound(SoundEffect effect) {
+        playSound(effect, 1.0f);
     }
 
-    public void playSound(String name) {
-        playSound(name, 1.0f);
+    /**
+     * When enabled, sounds requested from any thread are played on the render thread at the
+     * start of the next frame. Needed once turns run off the render thread.
+     */
+    public void setDeferPlayback(boolean deferPlayback) {
+        this.deferPlayback = deferPlayback;
     }
 
-    public void playSound(String name, float pitch) {
-        Sound sound = soundEffects.get(name);
-        if (sound != null) {
-            // Play with (volume, pitch, pan)
-            // randomizing pitch slightly (0.9 to 1.1) makes it sound less repetitive!
-            float dynamicPitch = pitch == 1.0f ? 0.95f + (float)(Math.random() * 0.1f) : pitch;
-            sound.play(1.0f, dynamicPitch, 0f);
+    public void playSound(SoundEffect effect, float pitch) {
+        int index = effect.ordinal();
+        if (soundAssets[index] == null) return; // Never loaded, e.g. on the server
+        if (deferPlayback) {
+            // One runnable per effect and frame, however many entities ask
+            synchronized (pending) {
+                if (pending[index]) return;
+                pending[index] = true;
+            }
+            Gdx.app.postRunnable(() -> {
+                synchronized (pending) {
+                    pending[index] = false;
+                }
+                playNow(effect, pitch);
+            });
         } else {
-            // Optional: Log warning if you want to know what's missing
-            // Gdx.app.log("Audio", "Sound not found: " + name);
+            playNow(effect, pitch);
+        }
+    }
+
+    private void playNow(SoundEffect effect, float pitch) {
+        int index = effect.ordinal();
+        Sound sound = loadedSound(index);
+        if (sound == null) {
+            // First use of a lazy effect, or still decoding: silent this once rather than waiting
+            loadSound(effect, true);
+            return;
+        }
+
+        long frame = Gdx.graphics.getFrameId();
+        if (lastPlayedFrame[index] == frame) return; // Once per turn is enough
+        lastPlayedFrame[index] = frame;
+
+        long now = TimeUtils.millis();
+        int voice = findVoice(effect, now);
+        if (voice < 0) return; // Everything playing matters more
+        if (voiceEffect[voice] >= 0) {
+            Sound stolen = loadedSound(voiceEffect[voice]);
+            if (stolen != null) stolen.stop(voiceId[voice]);
+            voiceEffect[voice] = -1;
         }
+
+        // Play with (volume, pitch, pan)
+        // randomizing pitch slightly (0.9 to 1.1) makes it sound less repetitive!
+        float dynamicPitch = pitch == 1.0f ? 0.95f + (float)(Math.random() * 0.1f) : pitch;
+        long id = sound.play(1.0f, dynamicPitch, 0f);
+        if (id == -1) return; // The backend is out of sources after all
+        voiceEffect[voice] = index;
+        voiceId[voice] = id;
+        voiceEnd[voice] = now + effect.busyMillis;
+    }
+
+    /**
+     * The voice to play {@code effect} on: its own oldest voice once it has
+     * {@link SoundEffect#maxVoices}, else a free one, else the one playing the least important
+     * (then oldest) sound of at most the same priority. -1 if there is none.
+     */
+    private int findVoice(SoundEffect effect, long now) {
+        int index = effect.ordinal();
+        int own = 0, oldestOwn = -1, free = -1, weakest = -1;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceEffect[v] >= 0 && voiceEnd[v] <= now) voiceEffect[v] = -1; // Finished by now
+            if (voiceEffect[v] < 0) {
+                if (free < 0) free = v;
+                continue;
+            }
+            if (voiceEffect[v] == index) {
+                own++;
+                if (oldestOwn < 0 || voiceEnd[v] < voiceEnd[oldestOwn]) oldestOwn = v;
+            }
+            int priority = EFFECTS[voiceEffect[v]].priority;
+            if (priority > effect.priority) continue;
+            if (weakest < 0 || priority < EFFECTS[voiceEffect[weakest]].priority
+                || (priority == EFFECTS[voiceEffect[weakest]].priority && voiceEnd[v] < voiceEnd[weakest])) {
+                weakest = v;
+            }
+        }
+        if (own >= effect.maxVoices) return oldestOwn;
+        return free >= 0 ? free : weakest;
+    }
+
+    private Sound loadedSound(int index) {
+        AssetDescriptor<Sound> asset = soundAssets[index];
+        return asset == null ? null : GameAssets.getInstance().getIfLoaded(asset.fileName, Sound.class);
     }
 
     @Override
     public void dispose() {
-        for (Sound s : soundEffects.values()) {
-            s.dispose();
-        }
-        soundEffects.clear();
-        if (currentMusic != null) {
-            currentMusic.dispose();
+        for (int i = 0; i < soundAssets.length; i++) {
+            if (queued[i]) GameAssets.getInstance().release(soundAssets[i]);
+            soundAssets[i] = null;
+            queued[i] = false;
         }
+        for (int v = 0; v < MAX_VOICES; v++) voiceEffect[v] = -1;
+        stopMusic();
     }
 }
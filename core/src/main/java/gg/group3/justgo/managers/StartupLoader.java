@@ -0,0 +1,46 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import gg.group3.justgo.GameLevel;
+
+/**
+ * Startup work that needs no GL context, run on a worker thread while the render thread shows
+ * the splash screen and uploads textures. Textures, skins and audio already load off the render
+ * thread through {@link GameAssets}; this covers the rest, so far the first level's map.
+ * <p>
+ * On the web there are no threads and tasks run as they are submitted.
+ */
+public class StartupLoader implements Disposable {
+    private final AsyncExecutor executor = new AsyncExecutor(1, "Startup");
+    private AsyncResult<GameLevel> level;
+    private int levelIndex = -1;
+
+    /** Starts parsing a level, for {@link #takeLevel(int)} once it's needed */
+    public void parseLevel(int levelIndex) {
+        this.levelIndex = levelIndex;
+        level = executor.submit(() -> {
+            StartupTimeline.getInstance().begin("level " + levelIndex + " parse (worker)");
+            GameLevel parsed = GameLevel.loadWithoutGraphics(GameLevel.levelFile(levelIndex));
+            StartupTimeline.getInstance().end("level " + levelIndex + " parse (worker)");
+            return parsed;
+        });
+    }
+
+    /**
+     * The level parsed ahead of time, waiting for it if it isn't done yet. Null if it wasn't
+     * asked for or was taken already, then parse it on the spot.
+     */
+    public GameLevel takeLevel(int levelIndex) {
+        if (level == null || levelIndex != this.levelIndex) return null;
+        GameLevel parsed = level.get(); // Rethrows what went wrong on the worker
+        level = null;
+        return parsed;
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+    }
+}
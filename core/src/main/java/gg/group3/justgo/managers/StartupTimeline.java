@@ -0,0 +1,82 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * When each part of the cold start began and ended, relative to the launch. Phases may overlap
+ * (work on loader threads runs beside the render thread) and may be ended from any thread.
+ * <p>
+ * {@link #finish(String)} marks the game as interactive and logs the whole timeline under
+ * "Startup", one phase per line, so releases can be compared by their time to interactive.
+ */
+public class StartupTimeline {
+    private static StartupTimeline instance;
+
+    private long originNanos = 0; // 0 = the first phase starts the clock
+    private final Array<String> names = new Array<>();
+    private final LongArray starts = new LongArray(); // Nanos since the origin
+    private final LongArray ends = new LongArray(); // -1 while running
+    private long interactiveMillis = -1;
+
+    private StartupTimeline() { }
+
+    public static StartupTimeline getInstance() {
+        if (instance == null) {
+            instance = new StartupTimeline();
+        }
+        return instance;
+    }
+
+    /** @param launchNanos {@code TimeUtils.nanoTime()} when the process started, before any phase */
+    public synchronized void setOrigin(long launchNanos) {
+        if (names.size == 0) originNanos = launchNanos;
+    }
+
+    public synchronized void begin(String phase) {
+        if (interactiveMillis >= 0) return;
+        if (originNanos == 0) originNanos = TimeUtils.nanoTime();
+        names.add(phase);
+        starts.add(TimeUtils.nanoTime() - originNanos);
+        ends.add(-1);
+    }
+
+    /** Ends the last phase of that name still running, still counted after {@link #finish} */
+    public synchronized void end(String phase) {
+        for (int i = names.size - 1; i >= 0; i--) {
+            if (ends.items[i] < 0 && names.get(i).equals(phase)) {
+                ends.items[i] = TimeUtils.nanoTime() - originNanos;
+                return;
+            }
+        }
+    }
+
+    /** A moment rather than a phase, e.g. the first frame */
+    public synchronized void mark(String milestone) {
+        begin(milestone);
+        end(milestone);
+    }
+
+    /** The game takes input now: marks it and logs the timeline. Only the first call counts. */
+    public synchronized void finish(String milestone) {
+        if (interactiveMillis >= 0) return;
+        mark(milestone);
+        interactiveMillis = TimeUtils.nanosToMillis(starts.get(starts.size - 1));
+
+        StringBuilder log = new StringBuilder("Interactive after ").append(interactiveMillis).append(" ms");
+        for (int i = 0; i < names.size; i++) {
+            log.append("\n  +").append(TimeUtils.nanosToMillis(starts.get(i))).append(" ms  ").append(names.get(i));
+            long end = ends.get(i);
+            if (end < 0) log.append(" (still running)");
+            else if (end > starts.get(i)) log.append(", ").append(TimeUtils.nanosToMillis(end - starts.get(i))).append(" ms");
+        }
+        Gdx.app.log("Startup", log.toString());
+    }
+
+    /** From launch to {@link #finish}, -1 until then */
+    public synchronized long getInteractiveMillis() {
+        return interactiveMillis;
+    }
+}
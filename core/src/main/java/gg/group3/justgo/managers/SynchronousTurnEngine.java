@@ -0,0 +1,30 @@
+package gg.group3.justgo.managers;
+
+/** Runs every turn immediately on the calling (render) thread. Used on platforms without threads. */
+public class SynchronousTurnEngine implements TurnEngine {
+    private final WorldManager world;
+
+    public SynchronousTurnEngine(WorldManager world) {
+        this.world = world;
+    }
+
+    @Override
+    public boolean submitTurn(int dirX, int dirY) {
+        world.processTurn(dirX, dirY);
+        world.publishSnapshot();
+        return true;
+    }
+
+    @Override
+    public void requestSnapshot() {
+        world.publishSnapshot();
+    }
+
+    @Override
+    public boolean isIdle() {
+        return true;
+    }
+
+    @Override
+    public void dispose() { }
+}
@@ -0,0 +1,194 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * What changed in the world during one turn, as a compact byte stream. Its size follows how
+ * much happened rather than how big the level is, so it is cheap to keep (replays) or send
+ * (spectators, the server) every turn.
+ * <p>
+ * Written by {@link WorldManager#writeDelta(TurnDelta)}, replayed with {@link #applyTo(WorldSnapshot)}
+ * on top of the state of the previous turn. Reuse instances (e.g. from a {@link Pool}); the
+ * buffer only grows.
+ *
+ * <pre>
+ * delta  := varint turn, record*, END
+ * record := MOVED slot x y | HEALTH slot zigzag(health) | DOOR_OPENED slot | STATE slot state
+ *         | FLAGS slot flags | BUMPED slot zigzag(dx) zigzag(dy) | FOG count (tile &lt;&lt; 2 | fog)*
+ * </pre>
+ * Every number is an unsigned LEB128 varint; fog tiles are indexed like {@link WorldSnapshot#fog}.
+ */
+public class TurnDelta implements Pool.Poolable {
+    public static final int END = 0;
+    public static final int MOVED = 1;
+    public static final int HEALTH = 2;
+    public static final int DOOR_OPENED = 3;
+    public static final int STATE = 4;
+    public static final int FLAGS = 5;
+    public static final int BUMPED = 6;
+    public static final int FOG = 7;
+
+    private byte[] data = new byte[64];
+    private int length = 0;
+    private int readPos = 0;
+
+    // --- WRITING ---
+
+    public void begin(int turn) {
+        length = 0;
+        writeVarint(turn);
+    }
+
+    public void moved(int slot, int x, int y) {
+        writeVarint(MOVED);
+        writeVarint(slot);
+        writeVarint(x);
+        writeVarint(y);
+    }
+
+    public void health(int slot, int health) {
+        writeVarint(HEALTH);
+        writeVarint(slot);
+        writeVarint(zigzag(health));
+    }
+
+    public void doorOpened(int slot) {
+        writeVarint(DOOR_OPENED);
+        writeVarint(slot);
+    }
+
+    public void state(int slot, int state) {
+        writeVarint(STATE);
+        writeVarint(slot);
+        writeVarint(state);
+    }
+
+    public void flags(int slot, int flags) {
+        writeVarint(FLAGS);
+        writeVarint(slot);
+        writeVarint(flags);
+    }
+
+    public void bumped(int slot, int dx, int dy) {
+        writeVarint(BUMPED);
+        writeVarint(slot);
+        writeVarint(zigzag(dx));
+        writeVarint(zigzag(dy));
+    }
+
+    /** Starts a run of {@link #fogTile} calls; count must match. */
+    public void fog(int count) {
+        writeVarint(FOG);
+        writeVarint(count);
+    }
+
+    public void fogTile(int index, int fog) {
+        writeVarint(index << 2 | fog);
+    }
+
+    public void end() {
+        writeVarint(END);
+    }
+
+    private void writeVarint(int value) {
+        if (length + 5 > data.length) {
+            byte[] grown = new byte[data.length * 2];
+            System.arraycopy(data, 0, grown, 0, length);
+            data = grown;
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // --- READING ---
+
+    /** Replaces the contents with an encoded delta, e.g. one received over the network. */
+    public void set(byte[] bytes, int offset, int count) {
+        if (data.length < count) data = new byte[count];
+        System.arraycopy(bytes, offset, data, 0, count);
+        length = count;
+    }
+
+    /**
+     * Brings a snapshot of the previous turn up to this turn. Bumps increment
+     * {@link WorldSnapshot#bumpCount} so {@code Entity.applyState} plays the wiggle.
+     */
+    public void applyTo(WorldSnapshot snapshot) {
+        readPos = 0;
+        snapshot.turn = readVarint();
+
+        while (true) {
+            int tag = readVarint();
+            if (tag == END) return;
+
+            if (tag == FOG) {
+                int count = readVarint();
+                for (int i = 0; i < count; i++) {
+                    int packed = readVarint();
+                    snapshot.fog[packed >>> 2] = (byte) (packed & 3);
+                }
+                snapshot.fogRevision = -1; // No longer matches any VisibilityManager revision
+                continue;
+            }
+
+            int slot = readVarint();
+            switch (tag) {
+                case MOVED:
+                    snapshot.targetX[slot] = readVarint();
+                    snapshot.targetY[slot] = readVarint();
+                    break;
+                case HEALTH:
+                    snapshot.health[slot] = unzigzag(readVarint());
+                    break;
+                case DOOR_OPENED:
+                    snapshot.health[slot] = 0;
+                    break;
+                case STATE:
+                    snapshot.state[slot] = readVarint();
+                    break;
+                case FLAGS:
+                    snapshot.flags[slot] = readVarint();
+                    break;
+                case BUMPED:
+                    snapshot.bumpCount[slot]++;
+                    snapshot.bumpDx[slot] = unzigzag(readVarint());
+                    snapshot.bumpDy[slot] = unzigzag(readVarint());
+                    break;
+                default:
+                    throw new IllegalStateException("Corrupt turn delta, tag " + tag);
+            }
+        }
+    }
+
+    private int readVarint() {
+        int result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[readPos++];
+            result |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    public byte[] getData() { return data; }
+    public int getLength() { return length; }
+
+    @Override
+    public void reset() {
+        length = 0;
+        readPos = 0;
+    }
+}
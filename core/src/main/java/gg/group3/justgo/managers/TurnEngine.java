@@ -0,0 +1,26 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Decides where {@link WorldManager#processTurn(int, int)} runs. The renderer never reads the
+ * world directly, only the snapshots the engine publishes, so an engine is free to run turns
+ * on another thread.
+ */
+public interface TurnEngine extends Disposable {
+    interface Factory {
+        TurnEngine create(WorldManager world);
+    }
+
+    /**
+     * Queues a player move.
+     * @return false if the previous turn hasn't finished yet, in which case the move is dropped
+     */
+    boolean submitTurn(int dirX, int dirY);
+
+    /** Republishes the world after the UI changed it outside of a turn (e.g. an answered question) */
+    void requestSnapshot();
+
+    /** @return true once the last submitted turn and all the events it fired have been handled */
+    boolean isIdle();
+}
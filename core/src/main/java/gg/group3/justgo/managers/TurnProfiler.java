@@ -0,0 +1,125 @@
+package gg.group3.justgo.managers;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+import gg.group3.justgo.utils.LogHistogram;
+
+/**
+ * Times each phase of {@link WorldManager#processTurn(int, int)}, per level, into
+ * {@link LogHistogram}s. Off by default; when off a turn only pays for one boolean check.
+ * <p>
+ * Shared by every world in the process (the server runs many at once), which is fine since
+ * histograms are lock free. Read the results with {@link #toCsv()} or {@link #toJson()}.
+ */
+public class TurnProfiler {
+    // --- PHASES ---
+    public static final int PLAYER_MOVE = 0; // Including collision list setup
+    public static final int SPIKES = 1;
+    public static final int VISIBILITY = 2;
+    public static final int ENEMIES = 3;
+    public static final int BOSS = 4;
+    public static final int TOTAL = 5;
+    private static final String[] PHASE_NAMES = {"playerMove", "spikes", "visibility", "enemies", "boss", "total"};
+
+    // Levels 1 to 3; anything else (e.g. a generated level) is counted under 0
+    private static final int LEVEL_SLOTS = 4;
+
+    private static TurnProfiler instance;
+
+    private final LogHistogram[][] histograms = new LogHistogram[LEVEL_SLOTS][PHASE_NAMES.length];
+    private volatile boolean enabled;
+
+    private TurnProfiler() {
+        for (int level = 0; level < LEVEL_SLOTS; level++) {
+            for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+                histograms[level][phase] = new LogHistogram();
+            }
+        }
+    }
+
+    public static synchronized TurnProfiler getInstance() {
+        if (instance == null) instance = new TurnProfiler();
+        return instance;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public void record(int levelIndex, int phase, long nanos) {
+        int slot = levelIndex > 0 && levelIndex < LEVEL_SLOTS ? levelIndex : 0;
+        histograms[slot][phase].record(nanos);
+    }
+
+    /** Records the time since {@code since} for the phase and returns now, the start of the next one. */
+    public long lap(int levelIndex, int phase, long since) {
+        long now = TimeUtils.nanoTime();
+        record(levelIndex, phase, now - since);
+        return now;
+    }
+
+    public void reset() {
+        for (LogHistogram[] level : histograms) {
+            for (LogHistogram histogram : level) histogram.reset();
+        }
+    }
+
+    // --- EXPORT (times in microseconds) ---
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("level,phase,count,mean_us,p50_us,p90_us,p99_us,max_us\n");
+        for (int level = 0; level < LEVEL_SLOTS; level++) {
+            for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+                LogHistogram histogram = histograms[level][phase];
+                if (histogram.getCount() == 0) continue;
+                csv.append(level).append(',').append(PHASE_NAMES[phase]).append(',').append(histogram.getCount())
+                    .append(',').append(micros(histogram.getMean()))
+                    .append(',').append(micros(histogram.getPercentile(50)))
+                    .append(',').append(micros(histogram.getPercentile(90)))
+                    .append(',').append(micros(histogram.getPercentile(99)))
+                    .append(',').append(micros(histogram.getMax())).append('\n');
+            }
+        }
+        return csv.toString();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"unit\":\"us\",\"levels\":{");
+        boolean firstLevel = true;
+        for (int level = 0; level < LEVEL_SLOTS; level++) {
+            boolean firstPhase = true;
+            for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+                LogHistogram histogram = histograms[level][phase];
+                if (histogram.getCount() == 0) continue;
+
+                if (firstPhase) {
+                    if (!firstLevel) json.append(',');
+                    json.append('"').append(level).append("\":{");
+                    firstLevel = false;
+                    firstPhase = false;
+                } else {
+                    json.append(',');
+                }
+                json.append('"').append(PHASE_NAMES[phase]).append("\":{\"count\":").append(histogram.getCount())
+                    .append(",\"mean\":").append(micros(histogram.getMean()))
+                    .append(",\"p50\":").append(micros(histogram.getPercentile(50)))
+                    .append(",\"p90\":").append(micros(histogram.getPercentile(90)))
+                    .append(",\"p99\":").append(micros(histogram.getPercentile(99)))
+                    .append(",\"max\":").append(micros(histogram.getMax())).append('}');
+            }
+            if (!firstPhase) json.append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    /** Writes JSON if the file name ends in .json, CSV otherwise. */
+    public void writeTo(FileHandle file) {
+        file.writeString("json".equalsIgnoreCase(file.extension()) ? toJson() : toCsv(), false);
+    }
+
+    // Nanoseconds to microseconds with one decimal, without String.format (not on GWT)
+    static String micros(double nanos) {
+        long tenths = Math.round(nanos / 100.0);
+        return (tenths / 10) + "." + (tenths % 10);
+    }
+}
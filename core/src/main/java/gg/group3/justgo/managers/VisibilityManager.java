@@ -1,13 +1,13 @@
 package gg.group3.justgo.managers;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import gg.group3.justgo.GameLevel;
 import gg.group3.justgo.entities.Entity;
+import gg.group3.justgo.math.TileRect;
 import gg.group3.justgo.math.Vector2Int;
 
 public class VisibilityManager {
@@ -20,7 +20,14 @@ public class VisibilityManager {
     private final int height;
     private final int[][] lightMap; // Stores the state of each
     private final boolean[][] dynamicObstacles;
-    private final ShapeRenderer shapeRenderer;
+    private int revision = 0; // Bumped every time the light map changes
+    private WorldSnapshot drawnFog; // What the renderer shows, may lag a turn behind lightMap
+
+    // Tiles written since the last delta (x * height + y), and their value as of that delta
+    private final IntArray touched = new IntArray();
+    private final boolean[] isTouched;
+    private final byte[] reportedFog;
+    private int tilesTouched; // By the current update, for tracing
 
     // How far the player can see
     private final int viewRadius = 8;
@@ -30,10 +37,14 @@ public class VisibilityManager {
         this.height = height;
         this.lightMap = new int[width][height];
         this.dynamicObstacles = new boolean[width][height]; // Init helper
-        this.shapeRenderer = new ShapeRenderer();
+        this.isTouched = new boolean[width * height];
+        this.reportedFog = new byte[width * height];
     }
 
     public void update(Vector2Int playerPos, GameLevel level, Array<Entity> doors) {
+        Object traceSpan = GameTrace.get().beginVisibilityUpdate();
+        tilesTouched = 0;
+
         // 1. Reset and Build the Dynamic Obstacle Map
         for(int x = 0; x < width; x++) {
             for(int y = 0; y < height; y++) {
@@ -57,6 +68,7 @@ public class VisibilityManager {
             for (int y = 0; y < height; y++) {
                 if (lightMap[x][y] == STATE_VISIBLE) {
                     lightMap[x][y] = STATE_EXPLORED;
+                    touch(x, y);
                 }
             }
         }
@@ -69,6 +81,68 @@ public class VisibilityManager {
                 }
             }
         }
+        revision++;
+        GameTrace.get().endVisibilityUpdate(traceSpan, tilesTouched);
+    }
+
+    // Called on the turn engine's thread; skips the copy if this buffer is already current
+    public void writeState(WorldSnapshot snapshot) {
+        if (snapshot.fogRevision == revision) return;
+        int i = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                snapshot.fog[i++] = (byte) lightMap[x][y];
+            }
+        }
+        snapshot.fogRevision = revision;
+    }
+
+    private void touch(int x, int y) {
+        tilesTouched++;
+        int index = x * height + y;
+        if (!isTouched[index]) {
+            isTouched[index] = true;
+            touched.add(index);
+        }
+    }
+
+    /**
+     * Writes the tiles whose fog differs from the previous delta. Most tiles touched by a turn
+     * (demoted, then lit again) end up unchanged, so they are filtered here rather than on write.
+     */
+    public void writeDelta(TurnDelta delta) {
+        int changed = 0;
+        for (int i = 0; i < touched.size; i++) {
+            int index = touched.get(i);
+            if (lightMap[index / height][index % height] != reportedFog[index]) changed++;
+        }
+
+        if (changed > 0) delta.fog(changed);
+        for (int i = 0; i < touched.size; i++) {
+            int index = touched.get(i);
+            int fog = lightMap[index / height][index % height];
+            if (fog != reportedFog[index]) {
+                delta.fogTile(index, fog);
+                reportedFog[index] = (byte) fog;
+            }
+            isTouched[index] = false;
+        }
+        touched.clear();
+    }
+
+    // Treats the current light map as already sent, e.g. because a full snapshot went out instead
+    public void markReported() {
+        for (int i = 0; i < touched.size; i++) {
+            int index = touched.get(i);
+            reportedFog[index] = (byte) lightMap[index / height][index % height];
+            isTouched[index] = false;
+        }
+        touched.clear();
+    }
+
+    // Called on the render thread
+    public void applyState(WorldSnapshot snapshot) {
+        drawnFog = snapshot;
     }
 
     // A simple Bresenham Line Algorithm to check visibility
@@ -83,7 +157,10 @@ public class VisibilityManager {
         while (true) {
             if (x0 < 0 || x0 >= width || y0 < 0 || y0 >= height) break;
 
-            lightMap[x0][y0] = STATE_VISIBLE;
+            if (lightMap[x0][y0] != STATE_VISIBLE) {
+                lightMap[x0][y0] = STATE_VISIBLE;
+                touch(x0, y0);
+            }
 
             // FIX: Check BOTH static walls AND dynamic obstacles (doors)
             boolean hitWall = level.isCollidable(x0, y0);
@@ -108,42 +185,38 @@ public class VisibilityManager {
         }
     }
 
-    public void render(float tileWidth, float tileHeight, Camera camera) {
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-
-        shapeRenderer.setProjectionMatrix(camera.combined); // Use the game's camera
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+    /**
+     * Draws the fog over the tiles in {@code tiles} only, the rest is off screen. Goes through
+     * the caller's batch (between its begin and end) so the fog doesn't cost a flush of its own.
+     * @param white a white region on the page the batch already has bound
+     */
+    public void render(Batch batch, TextureRegion white, float tileWidth, float tileHeight, TileRect tiles) {
+        if (drawnFog == null) return;
 
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                int state = lightMap[x][y];
+        float color = batch.getPackedColor();
+        for (int x = tiles.x0; x <= tiles.x1; x++) {
+            for (int y = tiles.y0; y <= tiles.y1; y++) {
+                int state = drawnFog.getFog(x, y);
 
                 if (state == STATE_VISIBLE) {
                     // Draw nothing (transparent)
                     continue;
                 } else if (state == STATE_EXPLORED) {
                     // Draw semi-transparent black (Dimmed)
-                    shapeRenderer.setColor(0, 0, 0, 0.6f);
+                    batch.setColor(0, 0, 0, 0.6f);
                 } else {
                     // Draw solid black (Unseen)
-                    shapeRenderer.setColor(0, 0, 0, 1f);
+                    batch.setColor(0, 0, 0, 1f);
                 }
 
-                shapeRenderer.rect(x * tileWidth, y * tileHeight, tileWidth, tileHeight);
+                batch.draw(white, x * tileWidth, y * tileHeight, tileWidth, tileHeight);
             }
         }
-
-        shapeRenderer.end();
-        Gdx.gl.glDisable(GL20.GL_BLEND);
+        batch.setPackedColor(color);
     }
 
     public boolean isVisible(int x, int y) {
         if (x < 0 || x >= width || y < 0 || y >= height) return false;
         return lightMap[x][y] == STATE_VISIBLE;
     }
-
-    public void dispose() {
-        shapeRenderer.dispose();
-    }
 }
@@ -1,14 +1,16 @@
 package gg.group3.justgo.managers;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
 
 import gg.group3.justgo.GameLevel;
 import gg.group3.justgo.entities.Entity;
 import gg.group3.justgo.entities.SpikeEntity;
 import gg.group3.justgo.entities.utils.ArrayUtils;
+import gg.group3.justgo.math.TileRect;
 import gg.group3.justgo.math.Vector2Int;
 import gg.group3.justgo.utils.MathGen;
 
@@ -20,13 +22,35 @@ public class WorldManager {
     private Array<Entity> items;
     private Entity boss;
     private Array<SpikeEntity> spikes;
-    private final WorldEventListener listener;
+    private WorldEventListener listener;
     private final VisibilityManager visibilityManager;
     private final int currentLevelIndex;
 
-    public WorldManager(String levelPath, Texture atlas, WorldEventListener listener, int levelIndex) {
-        this.level = new GameLevel(levelPath);
+    // Every entity in snapshot slot order, fixed for the lifetime of the level
+    private final Array<Entity> entities;
+    private final SnapshotExchange snapshots;
+    private WorldSnapshot drawnSnapshot;
+    private final DrawIndex drawIndex; // Where the drawn snapshot's entities are, render thread only
+    // Slots of the entities mid-move or mid-wiggle; only they get update(dt). Render thread only.
+    private final IntArray animatingSlots = new IntArray();
+    private final boolean[] slotAnimating;
+    private final int movableSlots; // Player, boss, enemies and doors; items and spikes never animate
+    private int turn = 0;
+
+    // State as of the last writeDelta, and scratch space to compare the current turn against
+    private WorldSnapshot deltaBase;
+    private WorldSnapshot deltaScratch;
+    private final int firstDoorSlot;
+
+    /**
+     * @param atlas may be null for a world that is only simulated, never drawn. The level is
+     *              only read from, so one {@link GameLevel} can back any number of worlds; it
+     *              stays with whoever loaded it, who disposes it once no world uses it.
+     */
+    public WorldManager(GameLevel level, TextureRegion atlas, WorldEventListener listener, int levelIndex) {
+        this.level = level;
         this.visibilityManager = new VisibilityManager(level.getWidth(), level.getHeight());
+        this.drawIndex = new DrawIndex(level.getWidth(), level.getHeight());
         this.listener = listener;
         this.doors = new Array<>();
         this.enemies = new Array<>();
@@ -34,15 +58,12 @@ public class WorldManager {
         this.spikes = new Array<>();
         this.currentLevelIndex = levelIndex;
 
-        this.player = new Entity(
-            new TextureRegion(atlas, 0, 0, 16, 16),
-            level.getPlayerPosition().x,
-            level.getPlayerPosition().y
-        ).withCollisionCallback((parent, other) -> {
+        this.player = newEntity(atlas, 0, 0, 16, level.getPlayerPosition())
+            .withCollisionCallback((parent, other) -> {
             // Generate problem and notify the listener (UI)
             boolean isBoss = other.isBoss();
             MathGen problem = MathGen.getForLevel(currentLevelIndex, isBoss);
-            listener.onQuestionTriggered(other, problem);
+            this.listener.onQuestionTriggered(other, problem);
         })
         .health(5);
 
@@ -51,14 +72,11 @@ public class WorldManager {
             int atlX = data.type.atlasX;
             int atlY = data.type.atlasY;
             int size = data.type.size;
-            this.boss = new Entity(
-                new TextureRegion(atlas, atlX * 16, atlY * 16, size, size),
-                data.position.x,
-                data.position.y
-            ).withCollisionCallback((parent, other) -> {
+            this.boss = newEntity(atlas, atlX * 16, atlY * 16, size, data.position)
+                .withCollisionCallback((parent, other) -> {
                 boolean isBoss = parent.isBoss(); // 'parent' is the enemy here
                 MathGen problem = MathGen.getForLevel(currentLevelIndex, isBoss);
-                listener.onQuestionTriggered(parent, problem);
+                this.listener.onQuestionTriggered(parent, problem);
             })
             .health(data.type.maxHp)
             .asEnemy(data.type, true);
@@ -66,18 +84,34 @@ public class WorldManager {
 
         initializeEntities(atlas);
 
+        this.entities = new Array<>();
+        entities.add(player);
+        if (boss != null) entities.add(boss);
+        entities.addAll(enemies);
+        entities.addAll(doors);
+        entities.addAll(items);
+        entities.addAll(spikes);
+        this.snapshots = new SnapshotExchange(entities.size, level.getWidth(), level.getHeight());
+        this.firstDoorSlot = 1 + (boss != null ? 1 : 0) + enemies.size;
+        this.movableSlots = firstDoorSlot + doors.size;
+        this.slotAnimating = new boolean[movableSlots];
+
+        // Deltas start from the level as loaded, so the first one carries the initial fog
+        markDeltaBase();
         // Perform initial calculation so the player isn't in the dark at start
         this.visibilityManager.update(level.getPlayerPosition(), level, doors);
+        publishSnapshot();
+        update(0f); // Pick it up right away so the first frame isn't drawn without fog
     }
 
-    private void initializeEntities(Texture atlas) {
+    private void initializeEntities(TextureRegion atlas) {
         // Initialize Doors with collision logic
         for (Vector2Int doorPos : level.getDoorPositions()) {
             doors.add(
-                new Entity(new TextureRegion(atlas, 16, 32, 16, 16), doorPos.x, doorPos.y)
+                newEntity(atlas, 16, 32, 16, doorPos)
                     .withCollisionCallback((parent, other) -> {
                         // Generate problem and notify the listener (UI)                        
-                        MathGen problem = MathGen.generateBasicArithmetic(10);
+                        MathGen problem = MathGen.getForLevel(1, false); // Basic arithmetic up to 10
                         listener.onQuestionTriggered(parent, problem);
                     })
             );
@@ -87,8 +121,7 @@ public class WorldManager {
         for (GameLevel.EnemyData enemyData : level.getEnemies()) {
             int atlX = enemyData.type.atlasX;
             int atlY = enemyData.type.atlasY;
-            TextureRegion region = new TextureRegion(atlas, atlX * 16, atlY * 16, 16, 16);
-            enemies.add(new Entity(region, enemyData.position.x, enemyData.position.y)
+            enemies.add(newEntity(atlas, atlX * 16, atlY * 16, 16, enemyData.position)
                 .withCollisionCallback((parent, other) -> {
                     boolean isBoss = parent.isBoss(); // 'parent' is the enemy here
                     MathGen problem = MathGen.getForLevel(currentLevelIndex, isBoss);
@@ -101,9 +134,7 @@ public class WorldManager {
 
         // Initialize Items
         for (GameLevel.ItemData itemData : level.getItems()) {
-            TextureRegion region = new TextureRegion(atlas, itemData.type.atlasX * 16, itemData.type.atlasY * 16, 16, 16);
-
-            Entity item = new Entity(region, itemData.position.x, itemData.position.y)
+            Entity item = newEntity(atlas, itemData.type.atlasX * 16, itemData.type.atlasY * 16, 16, itemData.position)
                 .asItem(itemData.type);
 
             // --- THE PICKUP LOGIC ---
@@ -113,14 +144,14 @@ public class WorldManager {
 
                 if (type == GameLevel.ItemType.HealthPotion) {
 
-                    SoundManager.getInstance().playSound("consume-potion");
+                    SoundManager.getInstance().playSound(SoundEffect.ConsumePotion);
 
                     other.heal(type.value);
                     Gdx.app.log("Pickup", "Healed! HP is now: " + other.getHealth());
                 }
                 else if (type == GameLevel.ItemType.Dagger) {
 
-                    SoundManager.getInstance().playSound("dagger-equip");
+                    SoundManager.getInstance().playSound(SoundEffect.DaggerEquip);
 
                     other.increaseDamage(type.value);
                     Gdx.app.log("Pickup", "Damage Up! Now deals: " + other.getDamageValue());
@@ -135,12 +166,28 @@ public class WorldManager {
 
         // INITIALIZE SPIKES
         for (Vector2Int pos : level.getSpikePositions()) {
-            spikes.add(new SpikeEntity(atlas, pos.x, pos.y));
+            spikes.add(atlas == null ? new SpikeEntity(pos.x, pos.y) : new SpikeEntity(atlas, pos.x, pos.y));
         }
     }
 
+    // Entities only get graphics when there is an atlas to draw them with
+    private static Entity newEntity(TextureRegion atlas, int atlasX, int atlasY, int size, Vector2Int pos) {
+        if (atlas == null) return new Entity(pos.x, pos.y, size);
+        return new Entity(new TextureRegion(atlas, atlasX, atlasY, size, size), pos.x, pos.y);
+    }
+
     // THE CORE TURN LOGIC
     public void processTurn(int dirX, int dirY) {
+        // One check when profiling is off; when on, each phase is timed from the end of the last
+        TurnProfiler profiler = TurnProfiler.getInstance();
+        boolean profiling = profiler.isEnabled();
+        long turnStart = profiling ? TimeUtils.nanoTime() : 0;
+        long mark = turnStart;
+        Object traceSpan = GameTrace.get().beginTurn();
+
+        turn++;
+        for (int i = 0; i < entities.size; i++) entities.get(i).settle();
+
         Array<Entity> playerCollisions = ArrayUtils.combineArrays(doors, enemies, items);
         if (boss != null && boss.getHealth() > 0) {
             playerCollisions.add(boss); // Add Boss to collisions
@@ -148,23 +195,30 @@ public class WorldManager {
 
         // 1. Attempt Player Move
         boolean playerMoved = player.move(dirX, dirY, level, playerCollisions);
-
+        if (profiling) mark = profiler.lap(currentLevelIndex, TurnProfiler.PLAYER_MOVE, mark);
 
         // 3. UPDATE SPIKES (Cycle: Off -> Priming -> Active)
         for (SpikeEntity spike : spikes) {
             spike.advanceState();
         }
         checkForSpikeTrap();
+        if (profiling) mark = profiler.lap(currentLevelIndex, TurnProfiler.SPIKES, mark);
 
         // 2. If player successfully moved (spent a turn), update enemies
         if (playerMoved) {
             Array<Entity> enemyCollisions = ArrayUtils.combineArrays(doors, enemies);
             visibilityManager.update(player.getPos(), level, doors);
+            if (profiling) mark = profiler.lap(currentLevelIndex, TurnProfiler.VISIBILITY, mark);
 
             enemyCollisions.add(player);
             updateEnemies(enemyCollisions);
+            if (profiling) mark = profiler.lap(currentLevelIndex, TurnProfiler.ENEMIES, mark);
             updateBoss(enemyCollisions);
+            if (profiling) mark = profiler.lap(currentLevelIndex, TurnProfiler.BOSS, mark);
         }
+        if (profiling) profiler.record(currentLevelIndex, TurnProfiler.TOTAL, mark - turnStart);
+        GameTrace.get().endTurn(traceSpan, currentLevelIndex, turn, entities.size, playerMoved);
+        LatencyTracer.getInstance().turnProcessed(turn);
     }
 
     private void checkForSpikeTrap() {
@@ -174,7 +228,7 @@ public class WorldManager {
                 // Trigger the Question Screen!
                 listener.onQuestionTriggered(spike, spike.getTrapProblem());
 
-                SoundManager.getInstance().playSound("splat");
+                SoundManager.getInstance().playSound(SoundEffect.Splat);
 
                 // Optional: If you want the spike to turn off immediately after triggering:
                 // spike.resetState();
@@ -209,21 +263,122 @@ public class WorldManager {
         }
     }
 
-    // Updates animations (interpolations)
+    /**
+     * Copies the current turn state into the next snapshot and hands it to the renderer.
+     * Must be called from the thread that runs the turns.
+     */
+    public void publishSnapshot() {
+        WorldSnapshot snapshot = snapshots.beginWrite();
+        snapshot.turn = turn;
+        snapshot.count = entities.size;
+        snapshot.playerDamage = player.getDamageValue();
+        for (int i = 0; i < entities.size; i++) {
+            entities.get(i).writeState(snapshot, i);
+        }
+        visibilityManager.writeState(snapshot);
+        snapshots.publish();
+    }
+
+    /**
+     * Writes everything that changed since the previous call (or since the world was created)
+     * into the given delta. Like {@link #publishSnapshot()}, call it from the thread that runs
+     * the turns, usually right after {@link #processTurn(int, int)}.
+     */
+    public void writeDelta(TurnDelta delta) {
+        delta.begin(turn);
+
+        WorldSnapshot now = deltaScratch;
+        WorldSnapshot then = deltaBase;
+        for (int i = 0; i < entities.size; i++) {
+            entities.get(i).writeState(now, i);
+
+            if (now.targetX[i] != then.targetX[i] || now.targetY[i] != then.targetY[i]) {
+                delta.moved(i, now.targetX[i], now.targetY[i]);
+            }
+            if (now.health[i] != then.health[i]) {
+                boolean isDoor = i >= firstDoorSlot && i < firstDoorSlot + doors.size;
+                if (isDoor && now.health[i] <= 0 && then.health[i] > 0) delta.doorOpened(i);
+                else delta.health(i, now.health[i]);
+            }
+            if (now.state[i] != then.state[i]) delta.state(i, now.state[i]);
+            if (now.flags[i] != then.flags[i]) delta.flags(i, now.flags[i]);
+            if (now.bumpCount[i] != then.bumpCount[i]) delta.bumped(i, now.bumpDx[i], now.bumpDy[i]);
+        }
+        visibilityManager.writeDelta(delta);
+        delta.end();
+
+        deltaScratch = then;
+        deltaBase = now;
+    }
+
+    /**
+     * Makes the current state the base of the next delta, without writing one. For consumers
+     * that start from a full snapshot, e.g. a spectator joining mid-level.
+     */
+    public void markDeltaBase() {
+        if (deltaBase == null) {
+            deltaBase = new WorldSnapshot(entities.size, 0, 0);
+            deltaScratch = new WorldSnapshot(entities.size, 0, 0);
+        }
+        for (int i = 0; i < entities.size; i++) entities.get(i).writeState(deltaBase, i);
+        visibilityManager.markReported();
+    }
+
+    // Updates animations (interpolations) from the latest snapshot. Render thread only.
     public void update(float dt) {
-        player.update(dt);
-        if (boss != null) boss.update(dt);
-        for (Entity enemy : enemies) enemy.update(dt);
-        for (Entity door : doors) door.update(dt);
+        WorldSnapshot snapshot = snapshots.acquire();
+        if (snapshot != drawnSnapshot) {
+            drawnSnapshot = snapshot;
+            for (int i = 0; i < snapshot.count; i++) {
+                Entity entity = entities.get(i);
+                entity.applyState(snapshot, i);
+                // A new position or bump starts an animation, from now on the entity gets frames
+                if (i < movableSlots && !slotAnimating[i] && entity.isAnimating()) {
+                    slotAnimating[i] = true;
+                    animatingSlots.add(i);
+                }
+            }
+            visibilityManager.applyState(snapshot);
+            drawIndex.rebuild(snapshot);
+        }
+
+        // Only the entities that move, each leaves the set on the frame it settles.
+        // Indexed on purpose: Array's cached iterators must not be shared with the turn thread
+        for (int k = animatingSlots.size - 1; k >= 0; k--) {
+            int slot = animatingSlots.get(k);
+            Entity entity = entities.get(slot);
+            entity.update(dt);
+            if (!entity.isAnimating()) {
+                slotAnimating[slot] = false;
+                animatingSlots.set(k, animatingSlots.peek()); // Already updated, order doesn't matter
+                animatingSlots.pop();
+            }
+        }
+    }
+
+    /** Whether an entity was still moving or wiggling after the last {@link #update(float)} */
+    public boolean isAnimating() {
+        return animatingSlots.size > 0;
     }
 
-    public void dispose() {
-        level.dispose();
-        visibilityManager.dispose();
+    /**
+     * Adds the {@link #getEntities()} indices of entities that may show inside {@code tiles},
+     * unsorted. Render thread only, reflects the snapshot the last {@link #update(float)} applied.
+     */
+    public void collectVisible(TileRect tiles, IntArray out) {
+        drawIndex.query(tiles, out);
     }
 
     // Getters for the Renderer
     public Entity getPlayer() { return player; }
+    public Array<Entity> getEntities() { return entities; }
+    public int getTurn() { return turn; }
+    /** The turn the entities were last updated to, render thread only */
+    public int getDrawnTurn() { return drawnSnapshot == null ? 0 : drawnSnapshot.turn; }
+    /** The player's damage as of the drawn snapshot, render thread only */
+    public int getDrawnPlayerDamage() { return drawnSnapshot == null ? 0 : drawnSnapshot.playerDamage; }
+    public WorldEventListener getListener() { return listener; }
+    public void setListener(WorldEventListener listener) { this.listener = listener; }
     public Entity getBoss() { return boss; }
     public Array<Entity> getEnemies() { return enemies; }
     public Array<Entity> getItems() { return items; }
@@ -0,0 +1,62 @@
+package gg.group3.justgo.managers;
+
+/**
+ * Everything the renderer needs from one finished turn, laid out as flat arrays so a
+ * snapshot can be refilled in place instead of reallocated every turn.
+ * <p>
+ * Slot {@code i} always describes the same entity for the lifetime of a level
+ * (see {@link WorldManager#getEntities()}). A snapshot is only ever written by the turn
+ * engine and only ever read by the renderer, handed between them by {@link SnapshotExchange}.
+ */
+public class WorldSnapshot {
+    public static final int FLAG_FACING_LEFT = 1;
+
+    public int turn;
+    public int count;
+    public int playerDamage; // For the HUD, not carried by TurnDelta
+
+    public int[] targetX;
+    public int[] targetY;
+    public int[] health;
+    public int[] state; // Entity specific, e.g. the spike phase
+    public int[] flags;
+    public int[] bumpCount; // Increments every time the entity walks into something
+    public int[] bumpDx;
+    public int[] bumpDy;
+
+    // Fog of war, one byte per tile (x * height + y). Only recopied when it changed.
+    public final int fogWidth;
+    public final int fogHeight;
+    public final byte[] fog;
+    public int fogRevision = -1;
+
+    public WorldSnapshot(int capacity, int fogWidth, int fogHeight) {
+        this.fogWidth = fogWidth;
+        this.fogHeight = fogHeight;
+        this.fog = new byte[fogWidth * fogHeight];
+        ensureCapacity(capacity);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (targetX != null && targetX.length >= capacity) return;
+
+        targetX = grow(targetX, capacity);
+        targetY = grow(targetY, capacity);
+        health = grow(health, capacity);
+        state = grow(state, capacity);
+        flags = grow(flags, capacity);
+        bumpCount = grow(bumpCount, capacity);
+        bumpDx = grow(bumpDx, capacity);
+        bumpDy = grow(bumpDy, capacity);
+    }
+
+    private static int[] grow(int[] old, int capacity) {
+        int[] result = new int[capacity];
+        if (old != null) System.arraycopy(old, 0, result, 0, old.length);
+        return result;
+    }
+
+    public int getFog(int x, int y) {
+        return fog[x * fogHeight + y];
+    }
+}
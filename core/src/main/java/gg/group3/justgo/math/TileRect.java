@@ -0,0 +1,33 @@
+package gg.group3.justgo.math;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+
+/**
+ * An inclusive range of tiles, e.g. the ones a camera sees. Computed once per frame and shared
+ * by everything that draws, so nothing off screen costs a draw call.
+ */
+public class TileRect {
+    public int x0, y0, x1, y1; // Inclusive, empty when x1 < x0 or y1 < y0
+
+    /**
+     * The tiles the camera shows, at least partly, clamped to the map.
+     * @param margin extra tiles on every side, for things drawn away from their tile
+     */
+    public TileRect set(OrthographicCamera camera, int tileSize, int mapWidth, int mapHeight, int margin) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        x0 = Math.max(0, (int) Math.floor((camera.position.x - halfWidth) / tileSize) - margin);
+        y0 = Math.max(0, (int) Math.floor((camera.position.y - halfHeight) / tileSize) - margin);
+        x1 = Math.min(mapWidth - 1, (int) Math.floor((camera.position.x + halfWidth) / tileSize) + margin);
+        y1 = Math.min(mapHeight - 1, (int) Math.floor((camera.position.y + halfHeight) / tileSize) + margin);
+        return this;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= x0 && x <= x1 && y >= y0 && y <= y1;
+    }
+
+    public int getWidth() { return Math.max(0, x1 - x0 + 1); }
+
+    public int getHeight() { return Math.max(0, y1 - y0 + 1); }
+}
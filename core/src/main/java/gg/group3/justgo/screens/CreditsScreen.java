@@ -17,11 +17,17 @@ import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import gg.group3.justgo.JustGo;
+import gg.group3.justgo.managers.GameAssets;
+import gg.group3.justgo.managers.RenderScheduler;
 
 public class CreditsScreen implements Screen {
+    // The style addStyles puts in the menu skin
+    private static final String SCROLL_PANE_STYLE = "credits";
+
     private final JustGo game;
     private final Stage stage;
     private final Skin skin;
+    private ScrollPane scrollPane;
 
     public CreditsScreen(JustGo game) {
         this.game = game;
@@ -29,18 +35,18 @@ public class CreditsScreen implements Screen {
         // 1. UPDATE VIEWPORT: 640x360
         stage = new Stage(new FitViewport(640, 360));
 
-        TextureAtlas atlas = new TextureAtlas(Gdx.files.internal("ui/question-screen.atlas"));
-        skin = new Skin(Gdx.files.internal("ui/menu.skin"), atlas);
-
-        skin.getFont("ui-font").getData().setScale(0.5f);
-        skin.getFont("title-font").getData().setScale(0.5f);
+        // Shared with the main menu (see GameAssets), its styles were added once it loaded
+        skin = GameAssets.getInstance().acquire(GameAssets.MENU_SKIN);
 
-        fixScrollPaneStyle(atlas);
         setupUI();
     }
 
-    private void fixScrollPaneStyle(TextureAtlas atlas) {
-        ScrollPane.ScrollPaneStyle style = skin.get(ScrollPane.ScrollPaneStyle.class);
+    /**
+     * Adds the credits' scroll pane style to the shared skin, once after it loaded (see
+     * {@code JustGo.assetsLoaded}). A copy, the skin's own style stays as it is.
+     */
+    public static void addStyles(Skin skin, TextureAtlas atlas) {
+        ScrollPane.ScrollPaneStyle style = new ScrollPane.ScrollPaneStyle(skin.get(ScrollPane.ScrollPaneStyle.class));
 
         // We still need the manual fix, but we can make the bar thicker for 360p
         NinePatch knobPatch = new NinePatch(atlas.findRegion("button-green"), 2, 2, 2, 2);
@@ -51,6 +57,7 @@ public class CreditsScreen implements Screen {
 
         style.vScroll = new NinePatchDrawable(scrollPatch);
         style.vScroll.setMinWidth(20); // Doubled from 10 to 20
+        skin.add(SCROLL_PANE_STYLE, style);
     }
 
     private void setupUI() {
@@ -72,7 +79,7 @@ public class CreditsScreen implements Screen {
         addSection(contentTable, "LEVEL DESIGNERS", "Aron Ogayon\nAllain Kumar\nJanvher Sarmiento");
 
         // ScrollPane
-        ScrollPane scrollPane = new ScrollPane(contentTable, skin);
+        scrollPane = new ScrollPane(contentTable, skin, SCROLL_PANE_STYLE);
         scrollPane.setFadeScrollBars(false);
         scrollPane.setOverscroll(false, false);
 
@@ -85,7 +92,7 @@ public class CreditsScreen implements Screen {
         backBtn.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                gg.group3.justgo.managers.SoundManager.getInstance().playSound("click");
+                gg.group3.justgo.managers.SoundManager.getInstance().playSound(gg.group3.justgo.managers.SoundEffect.Click);
                 game.setScreen(new MainMenuScreen(game));
                 dispose();
             }
@@ -117,6 +124,10 @@ public class CreditsScreen implements Screen {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         stage.act(delta);
         stage.draw();
+        // Flings and wheel scrolls ease out over several frames
+        if (scrollPane.isFlinging() || scrollPane.isPanning() || scrollPane.getVisualScrollY() != scrollPane.getScrollY()) {
+            RenderScheduler.getInstance().requestFrame();
+        }
     }
 
     @Override
@@ -132,6 +143,6 @@ public class CreditsScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        skin.dispose();
+        GameAssets.getInstance().release(GameAssets.MENU_SKIN);
     }
 }
@@ -5,37 +5,51 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 
+import gg.group3.justgo.GameLevel;
 import gg.group3.justgo.JustGo;
 import gg.group3.justgo.entities.Entity;
 import gg.group3.justgo.entities.SpikeEntity;
+import gg.group3.justgo.managers.AssetBundles;
+import gg.group3.justgo.managers.BattleRules;
+import gg.group3.justgo.managers.GameTrace;
+import gg.group3.justgo.managers.LatencyTracer;
+import gg.group3.justgo.managers.PerfMonitor;
+import gg.group3.justgo.managers.RenderScheduler;
+import gg.group3.justgo.managers.SoundEffect;
 import gg.group3.justgo.managers.SoundManager;
+import gg.group3.justgo.managers.TurnEngine;
+import gg.group3.justgo.managers.TurnProfiler;
 import gg.group3.justgo.managers.WorldEventListener;
 import gg.group3.justgo.managers.WorldManager;
+import gg.group3.justgo.math.TileRect;
 import gg.group3.justgo.utils.InputUtils;
 import gg.group3.justgo.utils.MathGen;
 
 public class GameScreen implements Screen {
     private final JustGo game;
-    private OrthogonalTiledMapRenderer tiledMapRenderer;
+    private StaticTileCache tileCache;
     private final QuestionScreen questionScreen;
     private final HUD hud;
+    private final TileRect visibleTiles = new TileRect(); // Recomputed every frame
+    private final IntArray visibleEntities = new IntArray();
     private WorldManager worldManager;
+    private TurnEngine turnEngine;
+    private final LowResTarget lowResTarget; // Null when the world is drawn at window resolution
 
     // --- TRANSITION SYSTEM ---
     private final Stage transitionStage;
     private final Image blackOverlay;
     private boolean isTransitioning = false;
-    private final Texture blackTexture;
 
     // Boss Battle Logic
     private int questionsQueue = 0;
@@ -43,6 +57,9 @@ public class GameScreen implements Screen {
     // Level Management
     private int currentLevelIndex = 1;
     private final int MAX_LEVELS = 3;
+    private static final float LEVEL_FETCH_RETRY_SECONDS = 5f;
+    private int pendingLevelIndex; // Waiting to be downloaded again
+    private float levelFetchRetryIn = -1f; // Seconds, -1 if nothing is waiting
 
     public GameScreen(JustGo game) {
         this.game = game;
@@ -51,22 +68,19 @@ public class GameScreen implements Screen {
         TextureRegion daggerRegion = new TextureRegion(game.atlas, 0, 160, 16, 16);
 
         // --- SETUP TRANSITION OVERLAY ---
-        // Create 1x1 black texture
-        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pixmap.setColor(Color.BLACK);
-        pixmap.fill();
-        blackTexture = new Texture(pixmap);
-        pixmap.dispose();
-
-        transitionStage = new Stage(new FitViewport(320, 180));
-        blackOverlay = new Image(blackTexture);
+        // The atlas' white pixel tinted black, drawn with the shared batch
+        transitionStage = new Stage(new FitViewport(320, 180), game.batch);
+        blackOverlay = new Image(game.white);
         blackOverlay.setFillParent(true);
+        blackOverlay.setColor(Color.BLACK);
         blackOverlay.getColor().a = 0f; // Start invisible
         transitionStage.addActor(blackOverlay);
 
+        lowResTarget = game.lowResWorld ? new LowResTarget((int) game.viewport.getWorldWidth(), (int) game.viewport.getWorldHeight()) : null;
+
         // --- SETUP UI ---
         questionScreen = new QuestionScreen(createAnswerListener(), heartRegion);
-        hud = new HUD(game.batch, heartRegion, daggerRegion);
+        hud = new HUD(game.batch, heartRegion, daggerRegion, game.white);
 
         loadLevel(currentLevelIndex);
     }
@@ -75,18 +89,30 @@ public class GameScreen implements Screen {
 
     private void loadLevel(int levelIndex) {
         Gdx.app.log("GameScreen", "Loading Level " + levelIndex);
-        if (worldManager != null) worldManager.dispose();
-        if (tiledMapRenderer != null) tiledMapRenderer.dispose();
-
-        String mapPath = "levels/level" + levelIndex + ".tmx";
-        worldManager = new WorldManager(mapPath, game.atlas, createWorldListener(), levelIndex);
-        tiledMapRenderer = new OrthogonalTiledMapRenderer(worldManager.getLevel().getRawLevel());
+        Object traceSpan = GameTrace.get().beginLevelLoad(levelIndex);
+        if (turnEngine != null) turnEngine.dispose();
+        if (worldManager != null) worldManager.getLevel().dispose(); // This screen loaded it
+        if (tileCache != null) tileCache.dispose();
+
+        // The tileset image is the game atlas, so the tiles are baked from it and no TiledMap is loaded.
+        // The first level was parsed on a worker during startup.
+        GameLevel level = game.startup.takeLevel(levelIndex);
+        if (level == null) level = GameLevel.loadWithoutGraphics(GameLevel.levelFile(levelIndex));
+        worldManager = new WorldManager(level, game.atlas, createWorldListener(), levelIndex);
+        turnEngine = game.turnEngines.create(worldManager);
+        tileCache = new StaticTileCache(level, game.atlas, 16);
 
         questionScreen.hide();
         questionsQueue = 0;
 
         // Ensure player is unlocked after reload
         isTransitioning = false;
+
+        GameTrace.get().endLevelLoad(traceSpan, levelIndex, level.getWidth(), level.getHeight(),
+            worldManager.getEntities().size);
+
+        // Where maps are downloaded, the next one is on its way while this one is played
+        if (levelIndex < MAX_LEVELS) AssetBundles.get().fetch(AssetBundles.level(levelIndex + 1), () -> { });
     }
 
     private void triggerRetry() {
@@ -106,20 +132,19 @@ public class GameScreen implements Screen {
         return new QuestionScreen.Answered() {
             @Override
             public void onCorrect(Entity enemy) {
-                SoundManager.getInstance().playSound("correct");
+                SoundManager.getInstance().playSound(SoundEffect.Correct);
 
-                int damageDealt = worldManager.getPlayer().getDamageValue();
-                enemy.damage(damageDealt);
+                BattleRules.applyAnswer(worldManager.getPlayer(), enemy, true);
 
                 if (enemy.getHealth() <= 0) {
                     if(enemy.isEnemy()) {
-                        SoundManager.getInstance().playSound("kill");
+                        SoundManager.getInstance().playSound(SoundEffect.Kill);
                     } else if (! (enemy instanceof SpikeEntity)) {
-                        SoundManager.getInstance().playSound("doorOpening");
+                        SoundManager.getInstance().playSound(SoundEffect.DoorOpening);
                     }
                 } else {
                     if (enemy.isEnemy()) {
-                        SoundManager.getInstance().playSound("hit");
+                        SoundManager.getInstance().playSound(SoundEffect.Hit);
                     }
                 }
                 handleBattleFlow(enemy);
@@ -127,14 +152,12 @@ public class GameScreen implements Screen {
 
             @Override
             public void onWrong(Entity enemy) {
-                    SoundManager.getInstance().playSound("wrong");
+                    SoundManager.getInstance().playSound(SoundEffect.Wrong);
                 if (enemy.isEnemy()) {
-                    SoundManager.getInstance().playSound("hit");
+                    SoundManager.getInstance().playSound(SoundEffect.Hit);
                 }
 
-                enemy.heal(1);
-                int dmg = enemy.isBoss() ? 2 : 1;
-                worldManager.getPlayer().damage(dmg);
+                BattleRules.applyAnswer(worldManager.getPlayer(), enemy, false);
 
                 handleBattleFlow(enemy);
             }
@@ -148,8 +171,7 @@ public class GameScreen implements Screen {
         return new WorldEventListener() {
             @Override
             public void onQuestionTriggered(Entity target, MathGen problem) {
-                if (target.isBoss()) questionsQueue = 3;
-                else questionsQueue = 1;
+                questionsQueue = BattleRules.questionsFor(target);
                 showQuestionUI(target, problem);
             }
 
@@ -163,6 +185,7 @@ public class GameScreen implements Screen {
 
     private void handleBattleFlow(Entity enemy) {
         questionsQueue--;
+        turnEngine.requestSnapshot(); // Health changed outside of a turn
 
         // 1. Entity Died
         if (enemy.getHealth() <= 0) {
@@ -171,12 +194,12 @@ public class GameScreen implements Screen {
 
             if (enemy.isBoss()) {
                 Gdx.app.log("Game", "BOSS DEFEATED!");
-                currentLevelIndex++;
-                if (currentLevelIndex > MAX_LEVELS) {
+                int nextLevel = currentLevelIndex + 1;
+                if (nextLevel > MAX_LEVELS) {
                     Gdx.app.log("Game", "VICTORY!");
-                    currentLevelIndex = 1;
+                    nextLevel = 1;
                 }
-                loadLevel(currentLevelIndex);
+                goToLevel(nextLevel);
             }
             return;
         }
@@ -199,29 +222,63 @@ public class GameScreen implements Screen {
 
     private void showQuestionUI(Entity target, MathGen problem) {
         questionScreen.setQuestion(
-            problem.getQuestion(), problem.getAnswer(), problem.getOptions(),
-            target, worldManager.getPlayer().getHealth(), worldManager.getPlayer().getDamageValue()
+            problem, target, worldManager.getPlayer().getHealth(), worldManager.getPlayer().getDamageValue()
         );
         questionScreen.show();
     }
 
+    /**
+     * Loads a level once its map is at hand. Usually it was fetched already; if not, input stays
+     * blocked until it's in. Should the download fail, the current level goes on and it's tried
+     * again a few seconds later.
+     */
+    private void goToLevel(int levelIndex) {
+        isTransitioning = true;
+        AssetBundles.get().fetch(AssetBundles.level(levelIndex), () -> {
+            currentLevelIndex = levelIndex;
+            loadLevel(levelIndex);
+        }, () -> {
+            Gdx.app.error("GameScreen", "Level " + levelIndex + " could not be downloaded, trying again in "
+                + (int) LEVEL_FETCH_RETRY_SECONDS + " s");
+            isTransitioning = false;
+            pendingLevelIndex = levelIndex;
+            levelFetchRetryIn = LEVEL_FETCH_RETRY_SECONDS;
+        });
+    }
+
     // --- GAME LOOP ---
 
     private void update(float dt) {
+        if (levelFetchRetryIn > 0f) {
+            levelFetchRetryIn -= dt;
+            if (levelFetchRetryIn <= 0f) {
+                levelFetchRetryIn = -1f;
+                goToLevel(pendingLevelIndex);
+            }
+        }
+
         // Block input if transitioning OR question screen is up
         if (questionScreen.isVisible() || isTransitioning) {
             transitionStage.act(dt); // Keep fading
             return;
         }
 
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F9)) {
+            if (TurnProfiler.getInstance().isEnabled()) Gdx.app.log("TurnProfiler", "\n" + TurnProfiler.getInstance().toCsv());
+            if (LatencyTracer.getInstance().isEnabled()) Gdx.app.log("LatencyTracer", "\n" + LatencyTracer.getInstance().toCsv());
+        }
+
         int dirX = 0, dirY = 0;
         if (InputUtils.isKeysJustPressed(Input.Keys.A, Input.Keys.LEFT)) dirX -= 1;
         if (InputUtils.isKeysJustPressed(Input.Keys.D, Input.Keys.RIGHT)) dirX += 1;
         if (InputUtils.isKeysJustPressed(Input.Keys.W, Input.Keys.UP)) dirY += 1;
         if (InputUtils.isKeysJustPressed(Input.Keys.S, Input.Keys.DOWN)) dirY -= 1;
 
-        if (dirX != 0 || dirY != 0) {
-            worldManager.processTurn(dirX, dirY);
+        if ((dirX != 0 || dirY != 0) && turnEngine.isIdle()) {
+            int nextTurn = worldManager.getTurn() + 1; // Stable, the engine is idle
+            // Registered first, the turn thread may be done with it before submitTurn returns
+            LatencyTracer.getInstance().inputSubmitted(keyEventTime(), nextTurn);
+            if (!turnEngine.submitTurn(dirX, dirY)) LatencyTracer.getInstance().inputRejected();
         }
 
         game.viewport.getCamera().position.x = worldManager.getPlayer().getX();
@@ -231,41 +288,99 @@ public class GameScreen implements Screen {
         transitionStage.act(dt);
     }
 
+    // When the key went down; backends that don't keep event times (0) get the time of the poll
+    private static long keyEventTime() {
+        long now = TimeUtils.nanoTime();
+        long eventTime = Gdx.input.getCurrentEventTime();
+        return eventTime <= 0 || eventTime > now ? now : eventTime;
+    }
+
     private void draw() {
-        ScreenUtils.clear(0, 0, 0, 1f);
-        game.viewport.apply();
-        tiledMapRenderer.setView((OrthographicCamera) game.viewport.getCamera());
-        game.batch.setProjectionMatrix(game.viewport.getCamera().combined);
+        OrthographicCamera camera = (OrthographicCamera) game.viewport.getCamera();
+        if (lowResTarget != null) {
+            // One target pixel per world pixel, a whole-pixel camera keeps tiles from shimmering
+            camera.position.set(Math.round(camera.position.x), Math.round(camera.position.y), 0);
+            camera.update();
+            lowResTarget.begin();
+        } else {
+            ScreenUtils.clear(0, 0, 0, 1f);
+            game.viewport.apply();
+        }
+        GameLevel level = worldManager.getLevel();
+
+        // Everything below only touches the tiles the camera sees
+        visibleTiles.set(camera, 16, level.getWidth(), level.getHeight(), 0);
+        game.batch.setProjectionMatrix(camera.combined);
 
-        tiledMapRenderer.render();
+        tileCache.render(camera.combined, visibleTiles);
 
         game.batch.begin();
-        for (Entity spike : worldManager.getSpikes()) spike.draw(game.batch);
-        for (Entity door : worldManager.getDoors()) if (door.getHealth() > 0) door.draw(game.batch);
-        for (Entity items : worldManager.getItems()) if (items.getHealth() > 0) items.draw(game.batch);
-        for (Entity enemy : worldManager.getEnemies()) if (enemy.getHealth() > 0) enemy.draw(game.batch);
+        // Entities are stored player first, so walking the indices backwards draws spikes under everything.
+        Array<Entity> entities = worldManager.getEntities();
+        visibleEntities.clear();
+        worldManager.collectVisible(visibleTiles, visibleEntities);
+        visibleEntities.sort();
+        for (int k = visibleEntities.size - 1; k >= 0; k--) {
+            Entity entity = entities.get(visibleEntities.get(k));
+            if (entity == worldManager.getPlayer() || entity == worldManager.getBoss()) continue;
+            if (entity instanceof SpikeEntity || entity.getDrawHealth() > 0) entity.draw(game.batch);
+        }
 
-        if (worldManager.getBoss() != null && worldManager.getBoss().getHealth() > 0) {
+        if (worldManager.getBoss() != null && worldManager.getBoss().getDrawHealth() > 0) {
             worldManager.getBoss().draw(game.batch);
         }
         worldManager.getPlayer().draw(game.batch);
-        game.batch.end();
 
-        worldManager.getVisibilityManager().render(16, 16, game.viewport.getCamera());
+        // Same page as the sprites, so the fog rides along in the same flush
+        worldManager.getVisibilityManager().render(game.batch, game.white, 16, 16, visibleTiles);
+        game.batch.end();
+        if (lowResTarget != null) {
+            lowResTarget.end();
+            lowResTarget.blit(game.batch);
+        }
 
-        hud.update(worldManager.getPlayer().getHealth(), worldManager.getPlayer().getDamageValue());
+        // The UI stays at window resolution
+        hud.update(worldManager.getPlayer().getDrawHealth(), worldManager.getDrawnPlayerDamage());
         hud.draw();
 
-        // Draw Fade Overlay on top
-        transitionStage.draw();
+        // Draw Fade Overlay on top, only while fading
+        if (blackOverlay.getColor().a > 0) transitionStage.draw();
     }
 
     @Override
     public void render(float delta) {
+        LatencyTracer latency = LatencyTracer.getInstance();
+        latency.frameStarted(); // The previous frame has been swapped to the screen by now
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) hud.togglePerfOverlay();
+
+        // By default input is read after drawing, so a move shows one frame later than it could
+        long updateNanos = game.inputBeforeDraw ? timedUpdate(delta) : 0;
+        long drawStart = TimeUtils.nanoTime();
         draw();
-        update(delta);
+        long drawNanos = TimeUtils.nanoTime() - drawStart;
+        latency.frameDrawn(worldManager.getDrawnTurn());
+        if (!game.inputBeforeDraw) updateNanos += timedUpdate(delta);
+
+        long questionStart = TimeUtils.nanoTime();
         questionScreen.draw();
+        long questionDrawEnd = TimeUtils.nanoTime();
         questionScreen.act();
+
+        PerfMonitor.getInstance().recordFrame(delta,
+            updateNanos + (TimeUtils.nanoTime() - questionDrawEnd),
+            drawNanos + (questionDrawEnd - questionStart), game.batch);
+
+        // Another frame only while something still moves (input wakes the loop by itself)
+        if (worldManager.isAnimating() || !turnEngine.isIdle() || hud.isPerfOverlayVisible()
+            || RenderScheduler.hasActions(transitionStage.getRoot()) || RenderScheduler.hasActions(questionScreen.getRoot())) {
+            RenderScheduler.getInstance().requestFrame();
+        }
+    }
+
+    private long timedUpdate(float delta) {
+        long start = TimeUtils.nanoTime();
+        update(delta);
+        return TimeUtils.nanoTime() - start;
     }
 
     @Override
@@ -283,10 +398,11 @@ public class GameScreen implements Screen {
     @Override
     public void dispose() {
         questionScreen.dispose();
-        tiledMapRenderer.dispose();
-        worldManager.dispose();
+        tileCache.dispose();
+        turnEngine.dispose();
+        worldManager.getLevel().dispose();
         hud.dispose();
         transitionStage.dispose();
-        blackTexture.dispose();
+        if (lowResTarget != null) lowResTarget.dispose();
     }
 }
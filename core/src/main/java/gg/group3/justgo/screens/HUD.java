@@ -10,22 +10,19 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import gg.group3.justgo.managers.GameAssets;
 
 public class HUD implements Disposable {
     public final Stage stage;
 
     private final Table rootTable;
-    private final Table heartTable;
+    private final HeartBar hearts;
     private final Label damageLabel;
+    private final PerfOverlay perfOverlay;
 
-    private final TextureRegion heartTexture;
-
-    private int lastKnownHealth = -1;
     private int lastKnownDamage = -1;
 
-    public HUD(SpriteBatch batch, TextureRegion heartTexture, TextureRegion daggerTexture) {
-        this.heartTexture = heartTexture;
-
+    public HUD(SpriteBatch batch, TextureRegion heartTexture, TextureRegion daggerTexture, TextureRegion white) {
         stage = new Stage(new ScreenViewport(), batch);
 
         rootTable = new Table();
@@ -34,16 +31,18 @@ public class HUD implements Disposable {
         rootTable.pad(10);
 
         // 1. HEART ROW
-        heartTable = new Table();
-        rootTable.add(heartTable).left().row();
+        hearts = new HeartBar(heartTexture, 32, 4);
+        rootTable.add(hearts).left().row();
 
         // 2. DAMAGE ROW (Icon + Number)
         Table damageTable = new Table();
         Image swordIcon = new Image(daggerTexture);
 
-        // Simple default font style
-        Label.LabelStyle style = new Label.LabelStyle(new BitmapFont(), Color.WHITE);
+        // The skin's ui-font, its page is packed with the sprites so the HUD draws without a texture switch
+        BitmapFont font = GameAssets.getInstance().acquire(GameAssets.QUESTION_SKIN).getFont("ui-font");
+        Label.LabelStyle style = new Label.LabelStyle(font, Color.WHITE);
         damageLabel = new Label("1", style);
+        damageLabel.setFontScale(0.5f);
 
         damageTable.add(swordIcon).size(24, 24).padRight(5);
         damageTable.add(damageLabel);
@@ -51,17 +50,23 @@ public class HUD implements Disposable {
         rootTable.add(damageTable).left().padTop(5);
 
         stage.addActor(rootTable);
+
+        // 3. PERFORMANCE OVERLAY (hidden until toggled)
+        perfOverlay = new PerfOverlay(white, font);
+        stage.addActor(perfOverlay);
+    }
+
+    public void togglePerfOverlay() {
+        perfOverlay.setVisible(!perfOverlay.isVisible());
+    }
+
+    public boolean isPerfOverlayVisible() {
+        return perfOverlay.isVisible();
     }
 
     public void update(int playerHealth, int playerDamage) {
-        // Update Hearts
-        if (playerHealth != lastKnownHealth) {
-            lastKnownHealth = playerHealth;
-            heartTable.clearChildren();
-            for (int i = 0; i < playerHealth; i++) {
-                heartTable.add(new Image(heartTexture)).width(32).height(32).padRight(4);
-            }
-        }
+        // Update Hearts (relayouts only when the count changed)
+        hearts.setCount(playerHealth);
 
         // Update Damage Text
         if (playerDamage != lastKnownDamage) {
@@ -82,5 +87,6 @@ public class HUD implements Disposable {
     @Override
     public void dispose() {
         stage.dispose();
+        GameAssets.getInstance().release(GameAssets.QUESTION_SKIN);
     }
 }
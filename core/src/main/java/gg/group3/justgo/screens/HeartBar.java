@@ -0,0 +1,56 @@
+package gg.group3.justgo.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+
+/**
+ * A row of hearts, drawn straight from one region. Changing the count allocates nothing, and
+ * the layout around it is only invalidated when the count (and so the width) really changes.
+ */
+public class HeartBar extends Widget {
+    private final TextureRegion heart;
+    private final float size;
+    private final float spacing;
+    private int count = 0;
+
+    public HeartBar(TextureRegion heart, float size, float spacing) {
+        this.heart = heart;
+        this.size = size;
+        this.spacing = spacing;
+    }
+
+    public void setCount(int count) {
+        count = Math.max(0, count);
+        if (count == this.count) return;
+        this.count = count;
+        invalidateHierarchy();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public float getPrefWidth() {
+        return count == 0 ? 0 : count * size + (count - 1) * spacing;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return size;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        Color color = getColor();
+        batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+        float y = getY() + (getHeight() - size) / 2;
+        for (int i = 0; i < count; i++) {
+            batch.draw(heart, getX() + i * (size + spacing), y, size, size);
+        }
+        batch.setColor(Color.WHITE);
+    }
+}
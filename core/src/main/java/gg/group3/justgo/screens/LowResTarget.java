@@ -0,0 +1,69 @@
+package gg.group3.justgo.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * The world at its native resolution: tiles, entities and fog are drawn into a small
+ * framebuffer, which is then scaled up to the window by a whole number with nearest filtering.
+ * Every blended pixel is filled once at 320x180 instead of at window size (a tenth of the
+ * fill at 1280x720, less above), and pixels come out square and sharp.
+ * <p>
+ * Windows smaller than the target are scaled down to fit; anything left over is black bars.
+ */
+public class LowResTarget implements Disposable {
+    private final FrameBuffer frameBuffer;
+    private final Matrix4 screenProjection = new Matrix4();
+
+    public LowResTarget(int width, int height) {
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+    }
+
+    /** Starts drawing into the target (and clears it), its size is the GL viewport until {@link #end()} */
+    public void begin() {
+        frameBuffer.begin();
+        ScreenUtils.clear(0, 0, 0, 1f);
+    }
+
+    public void end() {
+        frameBuffer.end();
+    }
+
+    /** Draws the target over the whole window, centered, the batch must not be drawing */
+    public void blit(Batch batch) {
+        int screenWidth = Gdx.graphics.getBackBufferWidth();
+        int screenHeight = Gdx.graphics.getBackBufferHeight();
+        int width = frameBuffer.getWidth();
+        int height = frameBuffer.getHeight();
+
+        float scale = Math.min(screenWidth / (float) width, screenHeight / (float) height);
+        if (scale >= 1) scale = (float) Math.floor(scale); // Whole pixels only, unless the window is too small
+        float drawWidth = width * scale;
+        float drawHeight = height * scale;
+        int x = (int) ((screenWidth - drawWidth) / 2);
+        int y = (int) ((screenHeight - drawHeight) / 2);
+
+        Gdx.gl.glViewport(0, 0, screenWidth, screenHeight);
+        ScreenUtils.clear(0, 0, 0, 1f);
+        screenProjection.setToOrtho2D(0, 0, screenWidth, screenHeight);
+        batch.setProjectionMatrix(screenProjection);
+        batch.disableBlending(); // Blended fog leaves alpha below 1 in the target, it must not show through
+        batch.begin();
+        // Framebuffer textures are upside down
+        batch.draw(frameBuffer.getColorBufferTexture(), x, y, drawWidth, drawHeight, 0, 1, 1, 0);
+        batch.end();
+        batch.enableBlending();
+    }
+
+    @Override
+    public void dispose() {
+        frameBuffer.dispose();
+    }
+}
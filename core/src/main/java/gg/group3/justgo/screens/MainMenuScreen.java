@@ -3,7 +3,6 @@ package gg.group3.justgo.screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -18,12 +17,19 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import gg.group3.justgo.JustGo;
+import gg.group3.justgo.managers.GameAssets;
+import gg.group3.justgo.managers.RenderScheduler;
+import gg.group3.justgo.managers.StartupTimeline;
 
 public class MainMenuScreen implements Screen {
+    // Styles addStyles puts in the menu skin
+    private static final String BUTTON_STYLE = "main-menu";
+    private static final String QUIT_BUTTON_STYLE = "main-menu-quit";
+
     private final JustGo game;
     private final Stage stage;
     private final Skin skin;
-    private final Texture titleTexture;
+    private final TextureRegion titleTexture;
 
     // We don't need to store backgroundTexture here anymore,
     // we pass it to the Actor.
@@ -32,15 +38,14 @@ public class MainMenuScreen implements Screen {
         this.game = game;
         stage = new Stage(new FitViewport(320, 180), game.batch);
 
-        // 1. Load Assets
-        TextureAtlas atlas = new TextureAtlas(Gdx.files.internal("ui/question-screen.atlas"));
-        skin = new Skin(Gdx.files.internal("ui/menu.skin"), atlas);
-        titleTexture = new Texture(Gdx.files.internal("images/title.png"));
+        // 1. Get Assets (shared, preloaded during the splash)
+        GameAssets assets = GameAssets.getInstance();
+        TextureAtlas atlas = assets.acquire(GameAssets.GAME_ATLAS);
+        skin = assets.acquire(GameAssets.MENU_SKIN);
+        titleTexture = atlas.findRegion("title");
 
         TextureRegion backgroundTexture = new TextureRegion(game.atlas, 32, 48, 16, 16);
 
-        fixButtonStyles(atlas);
-
         // 2. SETUP BACKGROUND ACTOR (Fixes the crash)
         // Add this BEFORE setupUI() so it sits behind the buttons
         stage.addActor(new BackgroundActor(backgroundTexture));
@@ -48,16 +53,23 @@ public class MainMenuScreen implements Screen {
         setupUI();
     }
 
-    private void fixButtonStyles(TextureAtlas atlas) {
+    /**
+     * Adds the menu's nine-patched button styles to the shared skin, once after it loaded (see
+     * {@code JustGo.assetsLoaded}). They are copies, the skin's own styles stay as other screens expect.
+     */
+    public static void addStyles(Skin skin, TextureAtlas atlas) {
         NinePatch patchUp = new NinePatch(atlas.findRegion("button-green"), 4, 4, 4, 4);
         NinePatch patchDown = new NinePatch(atlas.findRegion("button-green-pressed"), 4, 4, 4, 4);
         NinePatch patchQuit = new NinePatch(atlas.findRegion("button-red"), 4, 4, 4, 4);
 
-        skin.get("default", TextButton.TextButtonStyle.class).up = new NinePatchDrawable(patchUp);
-        skin.get("default", TextButton.TextButtonStyle.class).down = new NinePatchDrawable(patchDown);
-        skin.get("quit", TextButton.TextButtonStyle.class).up = new NinePatchDrawable(patchQuit);
+        TextButton.TextButtonStyle button = new TextButton.TextButtonStyle(skin.get("default", TextButton.TextButtonStyle.class));
+        button.up = new NinePatchDrawable(patchUp);
+        button.down = new NinePatchDrawable(patchDown);
+        skin.add(BUTTON_STYLE, button);
 
-        skin.getFont("ui-font").getData().setScale(0.5f);
+        TextButton.TextButtonStyle quit = new TextButton.TextButtonStyle(skin.get("quit", TextButton.TextButtonStyle.class));
+        quit.up = new NinePatchDrawable(patchQuit);
+        skin.add(QUIT_BUTTON_STYLE, quit);
     }
 
     private void setupUI() {
@@ -67,30 +79,30 @@ public class MainMenuScreen implements Screen {
         Image titleImage = new Image(titleTexture);
         table.add(titleImage).width(200).height(80).padTop(10).padBottom(15).row();
 
-        TextButton playBtn = new TextButton("PLAY", skin);
+        TextButton playBtn = new TextButton("PLAY", skin, BUTTON_STYLE);
         playBtn.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 // Play Click Sound
-                gg.group3.justgo.managers.SoundManager.getInstance().playSound("click");
+                gg.group3.justgo.managers.SoundManager.getInstance().playSound(gg.group3.justgo.managers.SoundEffect.Click);
                 game.setScreen(new GameScreen(game));
                 dispose();
             }
         });
         table.add(playBtn).width(90).height(20).padBottom(4).row();
 
-        TextButton creditsBtn = new TextButton("CREDITS", skin);
+        TextButton creditsBtn = new TextButton("CREDITS", skin, BUTTON_STYLE);
         creditsBtn.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                gg.group3.justgo.managers.SoundManager.getInstance().playSound("click");
+                gg.group3.justgo.managers.SoundManager.getInstance().playSound(gg.group3.justgo.managers.SoundEffect.Click);
                 game.setScreen(new CreditsScreen(game));
                 dispose();
             }
         });
         table.add(creditsBtn).width(90).height(20).padBottom(4).row();
 
-        TextButton quitBtn = new TextButton("QUIT", skin, "quit");
+        TextButton quitBtn = new TextButton("QUIT", skin, QUIT_BUTTON_STYLE);
         quitBtn.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -112,6 +124,7 @@ public class MainMenuScreen implements Screen {
         // The Stage now handles everything (Background + UI) safely.
         stage.act(delta);
         stage.draw();
+        if (RenderScheduler.hasActions(stage.getRoot())) RenderScheduler.getInstance().requestFrame();
     }
 
     // --- INNER CLASS FOR BACKGROUND ---
@@ -141,14 +154,19 @@ public class MainMenuScreen implements Screen {
         }
     }
 
-    @Override public void show() { Gdx.input.setInputProcessor(stage); }
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(stage);
+        StartupTimeline.getInstance().finish("main menu");
+    }
     @Override public void resize(int width, int height) { stage.getViewport().update(width, height, true); }
     @Override public void pause() {}
     @Override public void resume() {}
     @Override public void hide() {}
     @Override public void dispose() {
         stage.dispose();
-        skin.dispose();
-        titleTexture.dispose();
+        GameAssets assets = GameAssets.getInstance();
+        assets.release(GameAssets.GAME_ATLAS);
+        assets.release(GameAssets.MENU_SKIN);
     }
 }
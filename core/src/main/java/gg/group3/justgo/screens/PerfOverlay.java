@@ -0,0 +1,97 @@
+package gg.group3.justgo.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import gg.group3.justgo.managers.PerfMonitor;
+
+/**
+ * Frame time graph and counters from {@link PerfMonitor}, in the top right corner of the HUD.
+ * The text only changes once per second, so it is rebuilt once per second too.
+ * <p>
+ * Drawn with the atlas' white pixel and a font whose page is packed in the same atlas, so showing
+ * it adds no texture switches to the counts it shows.
+ */
+public class PerfOverlay extends Actor {
+    private static final float BAR_WIDTH = 2f;
+    private static final float GRAPH_HEIGHT = 60f;
+    private static final float GRAPH_MAX_MS = 50f; // Taller frames are clipped
+    private static final float MARGIN = 10f;
+    private static final float FONT_SCALE = 0.5f;
+
+    private final TextureRegion white;
+    private final BitmapFont font; // Shared, its scale is put back after drawing
+    private long shownSampleTime = -1;
+    private String text = "";
+
+    public PerfOverlay(TextureRegion white, BitmapFont font) {
+        this.white = white;
+        this.font = font;
+        setVisible(false);
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        PerfMonitor.getInstance().setOverlayVisible(visible); // GL counting only while shown
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        PerfMonitor monitor = PerfMonitor.getInstance();
+        float graphWidth = PerfMonitor.FRAME_HISTORY * BAR_WIDTH;
+        float left = getStage().getWidth() - graphWidth - MARGIN;
+        float top = getStage().getHeight() - MARGIN;
+        float bottom = top - GRAPH_HEIGHT;
+
+        // Background, then one bar per frame, newest on the right: green 60 fps, yellow 30, red slower
+        batch.setColor(0, 0, 0, 0.6f);
+        batch.draw(white, left, bottom - 150, graphWidth, GRAPH_HEIGHT + 150);
+        for (int age = 0; age < PerfMonitor.FRAME_HISTORY; age++) {
+            float ms = monitor.getFrameMs(age);
+            if (ms <= 1000f / 59f) batch.setColor(Color.GREEN);
+            else if (ms <= 1000f / 29f) batch.setColor(Color.YELLOW);
+            else batch.setColor(Color.RED);
+            float height = Math.min(ms, GRAPH_MAX_MS) / GRAPH_MAX_MS * GRAPH_HEIGHT;
+            batch.draw(white, left + graphWidth - (age + 1) * BAR_WIDTH, bottom, BAR_WIDTH, height);
+        }
+        batch.setColor(Color.WHITE);
+
+        PerfMonitor.Sample sample = monitor.getLatest();
+        if (sample.timeMillis != shownSampleTime) {
+            shownSampleTime = sample.timeMillis;
+            text = buildText(sample);
+        }
+        float scaleX = font.getData().scaleX, scaleY = font.getData().scaleY;
+        font.getData().setScale(FONT_SCALE);
+        font.draw(batch, text, left + 4, bottom - 4);
+        font.getData().setScale(scaleX, scaleY);
+    }
+
+    private static String buildText(PerfMonitor.Sample sample) {
+        StringBuilder text = new StringBuilder();
+        text.append(sample.frames).append(" fps  frame ").append(oneDecimal(sample.frameMsAvg))
+            .append(" / max ").append(oneDecimal(sample.frameMsMax)).append(" ms\n")
+            .append("update ").append(oneDecimal(sample.updateMsAvg))
+            .append(" ms  draw ").append(oneDecimal(sample.drawMsAvg)).append(" ms\n")
+            .append("flushes ").append(oneDecimal(sample.renderCallsAvg))
+            .append("  max sprites ").append(sample.maxSpritesInBatch).append('\n')
+            .append("binds ").append(oneDecimal(sample.textureBindsAvg))
+            .append("  draws ").append(oneDecimal(sample.drawCallsAvg)).append('\n');
+        if (sample.heapUsedBytes >= 0) {
+            text.append("heap ").append(sample.heapUsedBytes / (1024 * 1024)).append(" MB  alloc ")
+                .append(sample.allocatedBytesPerSecond / 1024).append(" KB/s\n")
+                .append("gc ").append(sample.gcCount).append(" (").append(sample.gcMillis).append(" ms)");
+        } else {
+            text.append("heap n/a");
+        }
+        return text.toString();
+    }
+
+    private static String oneDecimal(float value) {
+        int tenths = Math.round(value * 10);
+        return (tenths / 10) + "." + Math.abs(tenths % 10);
+    }
+}
@@ -13,8 +13,12 @@ import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import gg.group3.justgo.GameLevel;
 import gg.group3.justgo.entities.Entity;
 import gg.group3.justgo.entities.SpikeEntity;
+import gg.group3.justgo.managers.GameAssets;
+import gg.group3.justgo.managers.GameTrace;
+import gg.group3.justgo.utils.MathGen;
 
 public class QuestionScreen extends Stage {
     // ... Interface definition remains the same ...
@@ -28,25 +32,35 @@ public class QuestionScreen extends Stage {
     private final Answered answered;
     private final Skin skin;
     private final TextureRegion heartTexture; // NEW: Texture for hearts
+    // Portraits built once per enemy type; spikes and doors share one whose region is swapped
+    private final TextureRegionDrawable[] enemyPortraits = new TextureRegionDrawable[GameLevel.EnemyType.values().length];
+    private final TextureRegion otherRegion = new TextureRegion();
+    private final TextureRegionDrawable otherPortrait = new TextureRegionDrawable();
 
     private Label enemyNameLabel;
     private Image enemyImage;
     private Label questionLabel;
     private final Array<TextButton> optionButtons;
-    private Table enemyHeartTable; // NEW: Table for enemy health
-    private Table playerHeartTable; // NEW: Table for player health
+    private HeartBar enemyHearts; // NEW: Enemy health
+    private HeartBar playerHearts; // NEW: Player health
     private Label playerDamageLabel;
+    private int shownDamage = -1;
 
-    private String correctAnswer;
+    private MathGen problem;
     private boolean isVisible = false;
     private Entity whoQuestionedThePlayer = null;
 
+    // Tracing of the question currently shown
+    private Object traceSpan;
+    private int answers;
+    private boolean lastCorrect;
+
     public QuestionScreen(Answered answered, TextureRegion heartTexture) { // MODIFIED: Accepts heart texture
         super(new ScreenViewport());
         shapeRenderer = new ShapeRenderer();
         this.answered = answered;
         this.heartTexture = heartTexture;
-        this.skin = new Skin(Gdx.files.internal("ui/question-screen.skin"));
+        this.skin = GameAssets.getInstance().acquire(GameAssets.QUESTION_SKIN);
 
         optionButtons = new Array<>();
         setupUI();
@@ -68,8 +82,8 @@ public class QuestionScreen extends Stage {
         enemyContainer.add(enemyImage).size(128, 128).row();
 
         // Enemy Hearts
-        enemyHeartTable = new Table();
-        enemyContainer.add(enemyHeartTable).padTop(5);
+        enemyHearts = new HeartBar(heartTexture, 24, 4);
+        enemyContainer.add(enemyHearts).pad(2).padTop(7);
         mainTable.add(enemyContainer).pad(20);
 
         // Right Side: Options
@@ -80,12 +94,13 @@ public class QuestionScreen extends Stage {
         rightTable.add(questionLabel).width(300).padBottom(20).row();
 
         Table optionsTable = new Table();
-        for (int i = 0; i < 4; i++) {
+        for (int i = 0; i < MathGen.OPTION_COUNT; i++) {
             TextButton btn = new TextButton("", skin, "submit");
+            final int option = i;
             btn.addListener(new ChangeListener() {
                 @Override
                 public void changed(ChangeEvent event, Actor actor) {
-                    checkAnswer(btn.getText().toString());
+                    checkAnswer(option);
                 }
             });
             optionButtons.add(btn);
@@ -98,8 +113,8 @@ public class QuestionScreen extends Stage {
         // Bottom: Player Health Container
         Table playerContainer = new Table();
         playerContainer.add(new Label("PLAYER HP: ", skin)).padRight(10);
-        playerHeartTable = new Table();
-        playerContainer.add(playerHeartTable).padRight(20);
+        playerHearts = new HeartBar(heartTexture, 24, 4);
+        playerContainer.add(playerHearts).pad(2).padRight(22);
 
         // Add Damage Stat
         playerDamageLabel = new Label("DMG: 1", skin);
@@ -110,17 +125,26 @@ public class QuestionScreen extends Stage {
         addActor(mainTable);
     }
 
-    // Helper method to fill heart tables
-    private void updateHeartDisplay(Table table, int currentHealth) {
-        table.clearChildren();
-        for (int i = 0; i < currentHealth; i++) {
-            table.add(new Image(heartTexture)).width(24).height(24).pad(2);
+    // The portrait for whoever asks, unflipped whichever way they face
+    private TextureRegionDrawable portraitOf(Entity target) {
+        GameLevel.EnemyType type = target.getEnemyType();
+        if (type != null && enemyPortraits[type.ordinal()] != null) return enemyPortraits[type.ordinal()];
+
+        // Spikes change region with their state, so the shared portrait is refreshed every time
+        TextureRegion region = type == null ? otherRegion : new TextureRegion();
+        region.setRegion(target);
+        if (region.isFlipX()) region.flip(true, false);
+        if (region.isFlipY()) region.flip(false, true);
+        if (type == null) {
+            otherPortrait.setRegion(region);
+            return otherPortrait;
         }
+        return enemyPortraits[type.ordinal()] = new TextureRegionDrawable(region);
     }
 
     // UPDATED: Now accepts player health
-    public void setQuestion(String question, String answer, Array<String> options, Entity target, int playerHealth, int playerDamage) {
-        this.correctAnswer = answer;
+    public void setQuestion(MathGen problem, Entity target, int playerHealth, int playerDamage) {
+        this.problem = problem;
         this.whoQuestionedThePlayer = target;
 
         if (target instanceof SpikeEntity) {
@@ -130,31 +154,36 @@ public class QuestionScreen extends Stage {
         } else {
             enemyNameLabel.setText("Door!");
         }
-        questionLabel.setText(question);
+        questionLabel.setText(problem.getQuestion());
 
         // Update Enemy Portrait
         if (target != null) {
-            enemyImage.setDrawable(new TextureRegionDrawable(new TextureRegion(target)));
-            updateHeartDisplay(enemyHeartTable, target.getHealth());
+            enemyImage.setDrawable(portraitOf(target));
+            enemyHearts.setCount(target.getHealth());
         }
 
         // Update Player Health display
-        updateHeartDisplay(playerHeartTable, playerHealth);
+        playerHearts.setCount(playerHealth);
 
         // Update Damage Label
-        playerDamageLabel.setText("DMG: " + playerDamage);
+        if (playerDamage != shownDamage) {
+            shownDamage = playerDamage;
+            playerDamageLabel.setText("DMG: " + playerDamage);
+        }
 
         // Update Buttons
-        for (int i = 0; i < 4; i++) {
-            optionButtons.get(i).setText(options.get(i));
+        for (int i = 0; i < MathGen.OPTION_COUNT; i++) {
+            optionButtons.get(i).setText(problem.getOption(i));
             optionButtons.get(i).setDisabled(false);
         }
     }
 
     // ... show, hide, checkAnswer methods remain largely the same ...
-    private void checkAnswer(String selectedAnswer) {
+    private void checkAnswer(int selectedOption) {
         for (TextButton btn : optionButtons) btn.setDisabled(true);
-        if (selectedAnswer.equals(correctAnswer)) {
+        answers++;
+        lastCorrect = problem.isCorrect(selectedOption);
+        if (lastCorrect) {
             answered.onCorrect(whoQuestionedThePlayer);
         } else {
             answered.onWrong(whoQuestionedThePlayer);
@@ -165,6 +194,8 @@ public class QuestionScreen extends Stage {
         if (!isVisible) {
             isVisible = true;
             Gdx.input.setInputProcessor(this);
+            traceSpan = GameTrace.get().beginQuestion();
+            answers = 0;
         }
     }
 
@@ -172,6 +203,8 @@ public class QuestionScreen extends Stage {
         if (isVisible) {
             isVisible = false;
             Gdx.input.setInputProcessor(null);
+            GameTrace.get().endQuestion(traceSpan, answers, lastCorrect);
+            traceSpan = null;
         }
     }
 
@@ -190,4 +223,11 @@ public class QuestionScreen extends Stage {
         Gdx.gl.glDisable(GL20.GL_BLEND);
         super.draw();
     }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        shapeRenderer.dispose();
+        GameAssets.getInstance().release(GameAssets.QUESTION_SKIN);
+    }
 }
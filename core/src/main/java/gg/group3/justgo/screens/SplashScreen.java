@@ -2,13 +2,18 @@ package gg.group3.justgo.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import gg.group3.justgo.JustGo;
+import gg.group3.justgo.managers.GameAssets;
+import gg.group3.justgo.managers.StartupTimeline;
+import gg.group3.justgo.managers.RenderScheduler;
 
 public class SplashScreen implements Screen {
     private final JustGo game;
@@ -16,14 +21,21 @@ public class SplashScreen implements Screen {
     private final Texture splashTexture;
     private final Image splashImage;
 
+    // Loading bar along the bottom edge, GameAssets loads while the logo fades
+    private final Texture barTexture;
+    private final Image loadingBar;
+    private boolean fadeDone = false;
+
     public SplashScreen(JustGo game) {
         this.game = game;
 
         // Use FitViewport to ensure the logo isn't stretched oddly
         stage = new Stage(new FitViewport(320, 180), game.batch);
 
-        // 1. Load the JPG
-        splashTexture = new Texture(Gdx.files.internal("images/splash.jpg"));
+        // 1. Load the JPG (right away, it's what we show while the rest loads)
+        StartupTimeline.getInstance().begin("splash texture");
+        splashTexture = GameAssets.getInstance().acquire(GameAssets.SPLASH);
+        StartupTimeline.getInstance().end("splash texture");
 
         // 2. Setup the Image Actor
         splashImage = new Image(splashTexture);
@@ -41,6 +53,16 @@ public class SplashScreen implements Screen {
         splashImage.getColor().a = 0f;
 
         stage.addActor(splashImage);
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        barTexture = new Texture(pixmap);
+        pixmap.dispose();
+        loadingBar = new Image(barTexture);
+        loadingBar.setColor(0.2f, 1f, 0.2f, 0.8f);
+        loadingBar.setBounds(0, 0, 0, 2);
+        stage.addActor(loadingBar);
     }
 
     @Override
@@ -50,11 +72,10 @@ public class SplashScreen implements Screen {
             Actions.fadeIn(1.5f),        // Fade in over 1.5 seconds
             Actions.delay(2f),           // Wait for 2 seconds
             Actions.fadeOut(1.5f),       // Fade out over 1.5 seconds
-            Actions.run(new Runnable() { // When done, switch screens
+            Actions.run(new Runnable() { // When done, switch screens (see render)
                 @Override
                 public void run() {
-                    game.setScreen(new MainMenuScreen(game));
-                    dispose(); // Cleanup this screen
+                    fadeDone = true;
                 }
             })
         ));
@@ -66,8 +87,22 @@ public class SplashScreen implements Screen {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        // On top of the update in JustGo.render, the splash has nothing else to do with its frame
+        GameAssets assets = GameAssets.getInstance();
+        boolean loaded = assets.update();
+        loadingBar.setWidth(stage.getWidth() * assets.getProgress());
+
         stage.act(delta);
         stage.draw();
+
+        if (!fadeDone || !loaded) RenderScheduler.getInstance().requestFrame();
+
+        // Slow disks (or the browser) can outlast the fade, then the black screen waits for them
+        if (fadeDone && loaded) {
+            game.assetsLoaded();
+            game.setScreen(new MainMenuScreen(game));
+            dispose(); // Cleanup this screen
+        }
     }
 
     @Override
@@ -82,6 +117,7 @@ public class SplashScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        splashTexture.dispose();
+        barTexture.dispose();
+        GameAssets.getInstance().release(GameAssets.SPLASH);
     }
 }
@@ -0,0 +1,105 @@
+package gg.group3.justgo.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.math.TileRect;
+
+/**
+ * The level's tiles, baked once into GPU-side vertex data in {@link #CHUNK_TILES}-square
+ * chunks. Tiles never change during a level, so a frame only issues draw calls for the chunks
+ * on screen instead of rebuilding every visible tile's vertices like a tile map renderer does.
+ * <p>
+ * Tile ids index the sprite atlas directly (the atlas tileset is images/atlas.png, packed as
+ * region "atlas"), so no {@code TiledMap} or second copy of the texture is needed.
+ */
+public class StaticTileCache implements Disposable {
+    public static final int CHUNK_TILES = 16;
+    // A SpriteCache with indices can't hold more, bigger levels go without
+    private static final int MAX_INDEXED_SPRITES = 8191;
+
+    private final SpriteCache cache;
+    private final int chunksX, chunksY;
+    private final int[] chunkIds; // chunkY * chunksX + chunkX, -1 for chunks without tiles
+
+    public StaticTileCache(GameLevel level, TextureRegion atlas, int tileSize) {
+        int width = level.getWidth();
+        int height = level.getHeight();
+        int columns = atlas.getRegionWidth() / tileSize;
+
+        int tileCount = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (level.getTile(x, y) != GameLevel.TILE_EMPTY) tileCount++;
+            }
+        }
+        cache = new SpriteCache(Math.max(1, tileCount), tileCount <= MAX_INDEXED_SPRITES);
+
+        chunksX = (width + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunksY = (height + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunkIds = new int[chunksX * chunksY];
+
+        TextureRegion region = new TextureRegion();
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                int tilesInChunk = 0;
+                cache.beginCache();
+                for (int x = cx * CHUNK_TILES; x < Math.min(width, (cx + 1) * CHUNK_TILES); x++) {
+                    for (int y = cy * CHUNK_TILES; y < Math.min(height, (cy + 1) * CHUNK_TILES); y++) {
+                        int tile = level.getTile(x, y);
+                        if (tile == GameLevel.TILE_EMPTY) continue;
+
+                        int id = tile & GameLevel.TILE_ID_MASK;
+                        region.setRegion(atlas, (id % columns) * tileSize, (id / columns) * tileSize, tileSize, tileSize);
+                        boolean flipX = (tile & GameLevel.TILE_FLIP_X) != 0;
+                        boolean flipY = (tile & GameLevel.TILE_FLIP_Y) != 0;
+                        int quarterTurns = (tile & GameLevel.TILE_ROTATION_MASK) >>> GameLevel.TILE_ROTATION_SHIFT;
+                        if (flipX || flipY || quarterTurns != 0) {
+                            Sprite sprite = new Sprite(region);
+                            sprite.setFlip(flipX, flipY);
+                            sprite.setPosition(x * tileSize, y * tileSize);
+                            // Turned about its center, so it stays in its cell
+                            sprite.setOriginCenter();
+                            sprite.setRotation(quarterTurns * 90);
+                            cache.add(sprite);
+                        } else {
+                            cache.add(region, x * tileSize, y * tileSize);
+                        }
+                        tilesInChunk++;
+                    }
+                }
+                int id = cache.endCache();
+                chunkIds[cy * chunksX + cx] = tilesInChunk > 0 ? id : -1;
+            }
+        }
+    }
+
+    /** Draws the chunks that overlap {@code tiles}. */
+    public void render(Matrix4 projection, TileRect tiles) {
+        int cx0 = Math.max(0, tiles.x0 / CHUNK_TILES), cy0 = Math.max(0, tiles.y0 / CHUNK_TILES);
+        int cx1 = Math.min(chunksX - 1, tiles.x1 / CHUNK_TILES), cy1 = Math.min(chunksY - 1, tiles.y1 / CHUNK_TILES);
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(projection);
+        cache.begin();
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int id = chunkIds[cy * chunksX + cx];
+                if (id >= 0) cache.draw(id);
+            }
+        }
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    @Override
+    public void dispose() {
+        cache.dispose();
+    }
+}
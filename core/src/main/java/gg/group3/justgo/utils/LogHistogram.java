@@ -0,0 +1,85 @@
+package gg.group3.justgo.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts non-negative values (e.g. nanoseconds) in logarithmic buckets: four per power of two,
+ * so any percentile read back is at most 25% above the true value. Memory is fixed no matter
+ * how many values go in, and recording is lock free, so many threads can share one.
+ */
+public final class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // 2^40 ns is about 18 minutes, anything longer is clamped
+    private static final int BUCKET_COUNT = MAX_EXPONENT * SUB_BUCKETS;
+
+    private final AtomicLong[] buckets = new AtomicLong[BUCKET_COUNT];
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public LogHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) buckets[i] = new AtomicLong();
+    }
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets[bucketOf(value)].incrementAndGet();
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) seen = max.get();
+    }
+
+    // Values below SUB_BUCKETS get a bucket each, above that the top 3 bits pick it
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) return BUCKET_COUNT - 1;
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // The largest value that lands in the bucket
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * The value below which {@code percentile} percent of the recorded values fall, rounded up
+     * to its bucket (but never above the max). 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i].get();
+            if (seen >= rank) return Math.min(upperBoundOf(i), max.get());
+        }
+        return max.get(); // Values were still being recorded while counting
+    }
+
+    public long getCount() { return count.get(); }
+
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long total = count.get();
+        return total == 0 ? 0 : (double) sum.get() / total;
+    }
+
+    // Not atomic as a whole, values recorded meanwhile may be partly kept
+    public void reset() {
+        for (AtomicLong bucket : buckets) bucket.set(0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
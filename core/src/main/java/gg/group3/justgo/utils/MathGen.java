@@ -1,25 +1,54 @@
 package gg.group3.justgo.utils;
 
-import java.util.Random;
+import gg.group3.justgo.managers.GameTrace;
 
-import com.badlogic.gdx.utils.Array;
+import java.util.Random;
 
+/**
+ * A multiple choice math problem. Held as plain numbers: the operands, the operator and four
+ * options in tenths (fixed point, so percentages like 12.5 fit). Text is only built when the
+ * problem is actually shown, and answers are checked by comparing numbers.
+ * <p>
+ * The {@code generate...(..., MathGen out, Random random)} variants refill an existing instance
+ * and allocate nothing, for callers that recycle problems.
+ */
 public class MathGen {
-    private final String question;
-    private final String answer;
-    private final Array<String> options; // Holds correct answer + 3 wrong ones
+    public static final int OPTION_COUNT = 4;
 
-    private static final Random random = new Random();
+    // What kind of question, decides how the operands are formatted
+    private static final int BASIC_ARITHMETIC = 0;
+    private static final int FIND_X = 1;
+    private static final int PERCENTAGE = 2;
 
-    private MathGen(String answer, String question, Array<String> options) {
-        this.answer = answer;
-        this.question = question;
-        this.options = options;
-    }
+    private static final char[] OPERATORS = {'+', '-', '*', '/'};
+
+    // Most wrong-answer offsets fillOptions draws from, the 0 left out
+    private static final int MAX_OFFSETS = 32;
+
+    private int kind;
+    private int operator; // Index into OPERATORS
+    private int left, right; // The two numbers shown in the question
+    private int answer; // In tenths
+    private final int[] options = new int[OPTION_COUNT]; // In tenths, holds the answer + 3 wrong ones
+    private final int[] offsetOrder = new int[MAX_OFFSETS]; // Scratch for fillOptions
+
+    // Built on first use
+    private String questionText;
+    private final String[] optionTexts = new String[OPTION_COUNT];
+
+    // Thread safe but contended; a thread that generates a lot should pass its own, see generateForLevel
+    private static final Random sharedRandom = new Random();
+
+    public MathGen() { }
 
     public static MathGen generateBasicArithmetic(int maxNum) {
+        MathGen problem = new MathGen();
+        generateBasicArithmetic(maxNum, problem, sharedRandom);
+        return problem;
+    }
+
+    public static void generateBasicArithmetic(int maxNum, MathGen out, Random random) {
         int operation = random.nextInt(4);
-        String question;
         int result;
         int num1, num2;
 
@@ -27,193 +56,226 @@ public class MathGen {
             case 0: // Addition
                 num1 = random.nextInt(maxNum) + 1;
                 num2 = random.nextInt(maxNum) + 1;
-                question = num1 + " + " + num2 + " = ?";
                 result = num1 + num2;
                 break;
             case 1: // Subtraction
                 result = random.nextInt(maxNum) + 1;
                 num2 = random.nextInt(result) + 1;
                 num1 = result + num2;
-                question = num1 + " - " + num2 + " = ?";
                 break;
             case 2: // Multiplication
                 num1 = random.nextInt(maxNum) + 1;
                 num2 = random.nextInt(maxNum) + 1;
-                question = num1 + " * " + num2 + " = ?";
                 result = num1 * num2;
                 break;
             case 3: // Division
                 num2 = random.nextInt(maxNum) + 1;
                 int quotient = random.nextInt(maxNum) + 1;
-                num1 = Math.min(num2 * quotient, maxNum);
-                if (num2 * quotient > maxNum) {
-                    num1 = maxNum;
-                    quotient = num1 / num2;
+                num1 = num2 * quotient;
+                if (num1 > maxNum) {
+                    quotient = maxNum / num2;
                     num1 = num2 * quotient;
                 }
-                question = num1 + " / " + num2 + " = ?";
                 result = quotient;
                 break;
             default:
-                num1 = 1; num2 = 1; result = 2; question = "1 + 1 = ?";
-        }
-
-        // --- Generate Distractors (Wrong Answers) ---
-        Array<String> options = new Array<>();
-        options.add(String.valueOf(result)); // Add correct answer first
-
-        while (options.size < 4) {
-            int offset = random.nextInt(10) - 5;
-            if (offset == 0) offset = 1;
-
-            int wrongAnswer = result + offset;
-            if (wrongAnswer < 0) wrongAnswer = 0;
-
-            String wrongStr = String.valueOf(wrongAnswer);
-
-            if (!options.contains(wrongStr, false)) {
-                options.add(wrongStr);
-            }
+                operation = 0; num1 = 1; num2 = 1; result = 2;
         }
 
-        options.shuffle();
-
-        return new MathGen(String.valueOf(result), question, options);
+        out.set(BASIC_ARITHMETIC, operation, num1, num2, result * 10);
+        // Wrong answers: result -5..+4, never negative
+        out.fillOptions(-5, 4, 10, 0, random);
     }
 
-    private static MathGen generateFindX(int maxNum) {
+    private static void generateFindX(int maxNum, MathGen out, Random random) {
         int operation = random.nextInt(4);
-        String question;
         int x; // The value of X (correct answer)
         int num1, num2;
 
         switch (operation) {
             case 0: // X + a = b  →  X = b - a
                 num1 = random.nextInt(maxNum) + 1;
-                num2 = random.nextInt(maxNum) + 1;
-                x = num2;
-                int sum = num1 + num2;
-                question = "X + " + num1 + " = " + sum;
+                x = random.nextInt(maxNum) + 1;
+                num2 = num1 + x;
                 break;
-
             case 1: // X - a = b  →  X = a + b
                 num1 = random.nextInt(maxNum) + 1;
                 num2 = random.nextInt(maxNum) + 1;
                 x = num1 + num2;
-                question = "X - " + num1 + " = " + num2;
                 break;
-
             case 2: // a * X = b  →  X = b / a
                 num1 = random.nextInt(maxNum) + 1;
                 x = random.nextInt(maxNum) + 1;
-                int product = num1 * x;
-                question = num1 + " * X = " + product;
+                num2 = num1 * x;
                 break;
-
             case 3: // X / a = b  →  X = a * b
                 num1 = random.nextInt(maxNum) + 1;
                 num2 = random.nextInt(maxNum) + 1;
                 x = num1 * num2;
-                question = "X / " + num1 + " = " + num2;
                 break;
-
             default:
-                x = 5;
-                question = "X + 3 = 8";
+                operation = 0; num1 = 3; num2 = 8; x = 5;
         }
 
-        // --- Generate Distractors (Wrong Answers) ---
-        Array<String> options = new Array<>();
-        options.add(String.valueOf(x)); // Add correct answer first
+        out.set(FIND_X, operation, num1, num2, x * 10);
+        // Wrong answers: x -5..+4, at least 1
+        out.fillOptions(-5, 4, 10, 10, random);
+    }
 
-        while (options.size < 4) {
-            int offset = random.nextInt(10) - 5;
-            if (offset == 0) offset = 1;
-            int wrongAnswer = x + offset;
-            if (wrongAnswer < 1) wrongAnswer = 1;
+    private static void generatePercentage(int maxNum, MathGen out, Random random) {
+        int percent = random.nextInt(90) + 10; // 10% to 99%
+        int base = random.nextInt(maxNum) + 1; // number to get percentage of
 
-            String wrongStr = String.valueOf(wrongAnswer);
-            if (!options.contains(wrongStr, false)) {
-                options.add(wrongStr);
-            }
-        }
+        // percent / 100 * base, in tenths and rounded half up: 12.3456 becomes 12.3
+        int exact = (percent * base + 5) / 10;
 
-        options.shuffle();
-        return new MathGen(String.valueOf(x), question, options);
+        out.set(PERCENTAGE, 0, percent, base, exact);
+        // Wrong answers: whole numbers -10..+10 away, never negative
+        out.fillOptions(-10, 10, 10, 0, random);
     }
 
-    private static MathGen generatePercentage(int maxNum) {
-        int percent = random.nextInt(90) + 10; // 10% to 99%
-        int base = random.nextInt(maxNum) + 1; // number to get percentage of
+    /**
+     * A problem for the given level from the shared {@link ProblemPool}. Cheap enough to call
+     * from a collision callback; it only generates on the spot if the pool ran dry.
+     */
+    public static MathGen getForLevel(int level, boolean isBoss) {
+        return ProblemPool.getInstance().obtain(level, isBoss);
+    }
 
-        // Compute raw value
-        double raw = (percent / 100.0) * base;
+    // Builds a new problem right now, see getForLevel for the pooled version
+    public static MathGen generateForLevel(int level, boolean isBoss) {
+        MathGen problem = new MathGen();
+        generateForLevel(level, isBoss, problem, sharedRandom);
+        return problem;
+    }
 
-        // This ensures 12.3456 becomes 12.3
-        double exact = Math.round(raw * 10.0) / 10.0;
+    /**
+     * Refills {@code out} without allocating. {@code random} must not be shared with other threads
+     * unless it is thread safe; an unsynchronized one (e.g. RandomXS128) is several times faster.
+     */
+    public static void generateForLevel(int level, boolean isBoss, MathGen out, Random random) {
+        Object traceSpan = GameTrace.get().beginProblemGeneration();
+        // Bosses get harder scalar/difficulty
+        int difficulty = isBoss ? 10 : 5;
 
-        // If whole number, convert to integer string (e.g., "12")
-        // Otherwise, convert double to string (e.g., "12.5")
-        String correctAnswer;
-        if (exact == (int) exact) {
-            correctAnswer = String.valueOf((int) exact);
-        } else {
-            correctAnswer = String.valueOf(exact);
+        switch (level) {
+            case 3:
+                // Level 3: Percentages (Scale max number by difficulty)
+                generatePercentage(isBoss ? 200 : 50, out, random);
+                break;
+            case 2:
+                // Level 2: Algebra (Scale x range by difficulty)
+                generateFindX(difficulty, out, random);
+                break;
+            case 1:
+            default:
+                // Level 1: Basic Arithmetic
+                generateBasicArithmetic(isBoss ? 50 : 10, out, random);
         }
+        GameTrace.get().endProblemGeneration(traceSpan, level, isBoss);
+    }
 
-        String question = "What is " + percent + "% of " + base + "?";
-
-        // --- Generate Options ---
-        Array<String> options = new Array<>();
-        options.add(correctAnswer);
+    private void set(int kind, int operator, int left, int right, int answer) {
+        this.kind = kind;
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+        this.answer = answer;
+        questionText = null;
+        for (int i = 0; i < OPTION_COUNT; i++) optionTexts[i] = null;
+    }
 
-        while (options.size < 4) {
-            // Generate integer offset (-10 to +10)
-            int offset = random.nextInt(21) - 10;
-            if (offset == 0) offset = 1;
+    /**
+     * Picks three distinct wrong answers {@code answer + k * step} for k in [minOffset, maxOffset]
+     * without 0, clamped to {@code floor}, then shuffles all four.
+     * <p>
+     * The offsets are drawn without replacement by a partial Fisher-Yates shuffle, so each pick is
+     * uniform over the ones left and this never retries forever. If clamping leaves too few
+     * distinct values, the rest are taken above the largest offset.
+     */
+    private void fillOptions(int minOffset, int maxOffset, int step, int floor, Random random) {
+        options[0] = answer;
+        int found = 1;
+
+        int count = maxOffset - minOffset; // Offsets in range, minus the 0
+        for (int i = 0; i < count; i++) offsetOrder[i] = i;
+
+        for (int drawn = 0; drawn < count && found < OPTION_COUNT; drawn++) {
+            int j = drawn + random.nextInt(count - drawn);
+            int k = offsetOrder[j];
+            offsetOrder[j] = offsetOrder[drawn];
+            offsetOrder[drawn] = k;
+
+            int offset = minOffset + k;
+            if (offset >= 0) offset++; // Skip 0
+            found = addOption(Math.max(floor, answer + offset * step), found);
+        }
+        for (int offset = maxOffset + 1; found < OPTION_COUNT; offset++) {
+            found = addOption(answer + offset * step, found);
+        }
 
-            double wrongRaw = exact + offset;
+        // Fisher-Yates
+        for (int i = OPTION_COUNT - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = options[i];
+            options[i] = options[j];
+            options[j] = swap;
+        }
+    }
 
-            // Ensure non-negative
-            if (wrongRaw < 0) wrongRaw = 0;
+    // Constant time: there are never more than OPTION_COUNT options to compare against
+    private int addOption(int value, int found) {
+        for (int i = 0; i < found; i++) {
+            if (options[i] == value) return found;
+        }
+        options[found] = value;
+        return found + 1;
+    }
 
-            // Round again to ensure clean floating point math
-            double wrong = Math.round(wrongRaw * 10.0) / 10.0;
+    // --- ANSWERS ---
 
-            String wrongStr;
-            if (wrong == (int) wrong) {
-                wrongStr = String.valueOf((int) wrong);
-            } else {
-                wrongStr = String.valueOf(wrong);
-            }
+    public boolean isCorrect(int optionIndex) {
+        return options[optionIndex] == answer;
+    }
 
-            if (!options.contains(wrongStr, false)) {
-                options.add(wrongStr);
+    /** The correct answer in tenths, e.g. 125 for 12.5 */
+    public int getAnswerTenths() { return answer; }
+
+    /** Option {@code i} in tenths */
+    public int getOptionTenths(int i) { return options[i]; }
+
+    // --- TEXT (built lazily, only for problems that get shown) ---
+
+    public String getQuestion() {
+        if (questionText == null) {
+            switch (kind) {
+                case FIND_X:
+                    if (operator == 2) questionText = left + " * X = " + right;
+                    else questionText = "X " + OPERATORS[operator] + " " + left + " = " + right;
+                    break;
+                case PERCENTAGE:
+                    questionText = "What is " + left + "% of " + right + "?";
+                    break;
+                case BASIC_ARITHMETIC:
+                default:
+                    questionText = left + " " + OPERATORS[operator] + " " + right + " = ?";
             }
         }
+        return questionText;
+    }
 
-        options.shuffle();
-        return new MathGen(correctAnswer, question, options);
+    public String getOption(int i) {
+        if (optionTexts[i] == null) optionTexts[i] = formatTenths(options[i]);
+        return optionTexts[i];
     }
 
-    public static MathGen getForLevel(int level, boolean isBoss) {
-        // Bosses get harder scalar/difficulty
-        int difficulty = isBoss ? 10 : 5;
+    public String getAnswer() {
+        return formatTenths(answer);
+    }
 
-        switch (level) {
-            case 3:
-                // Level 2: Percentages (Scale max number by difficulty)
-                return generatePercentage(isBoss ? 200 : 50);
-            case 2:
-                // Level 3: Algebra (Scale x range by difficulty)
-                return generateFindX(difficulty);
-            case 1:
-            default:
-                // Level 1: Basic Arithmetic
-                return generateBasicArithmetic(isBoss ? 50 : 10);
-        }
+    // 120 -> "12", 125 -> "12.5"
+    private static String formatTenths(int tenths) {
+        if (tenths % 10 == 0) return String.valueOf(tenths / 10);
+        return (tenths / 10) + "." + (tenths % 10);
     }
-    public String getAnswer() { return answer; }
-    public String getQuestion() { return question; }
-    public Array<String> getOptions() { return options; }
 }
@@ -0,0 +1,91 @@
+package gg.group3.justgo.utils;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ready-made problems for every (level, isBoss) pair, so a question is available in O(1) the
+ * moment a collision asks for one instead of being generated on the spot.
+ * <p>
+ * The pool itself starts no threads (core also runs on GWT). A platform that can generate in
+ * the background registers a refill signal with {@link #setRefillSignal(Runnable)} and calls
+ * {@link #fill()} from its own thread whenever signalled. Without one, or when the producer
+ * falls behind, {@link #obtain(int, boolean)} generates synchronously and counts a miss.
+ */
+public class ProblemPool {
+    private static ProblemPool instance;
+
+    private static final int LEVELS = 3;
+    private static final int CAPACITY = 16;
+    private static final int LOW_WATER = CAPACITY / 2; // Ask for a refill below this
+
+    private final ProblemRing[] rings;
+    private volatile Runnable refillSignal;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final RandomXS128 producerRandom = new RandomXS128(); // Only used by fill()
+
+    private ProblemPool() {
+        rings = new ProblemRing[LEVELS * 2];
+        for (int i = 0; i < rings.length; i++) rings[i] = new ProblemRing(CAPACITY);
+    }
+
+    public static synchronized ProblemPool getInstance() {
+        if (instance == null) {
+            instance = new ProblemPool();
+        }
+        return instance;
+    }
+
+    // Levels past the last one generate like level 1, see MathGen.generateForLevel
+    private static int key(int level, boolean isBoss) {
+        int levelSlot = (level >= 1 && level <= LEVELS) ? level - 1 : 0;
+        return levelSlot * 2 + (isBoss ? 1 : 0);
+    }
+
+    private static int levelOf(int key) { return key / 2 + 1; }
+    private static boolean isBossOf(int key) { return key % 2 == 1; }
+
+    public MathGen obtain(int level, boolean isBoss) {
+        ProblemRing ring = rings[key(level, isBoss)];
+        MathGen problem = ring.poll();
+
+        Runnable signal = refillSignal;
+        if (signal != null && ring.size() < LOW_WATER) signal.run();
+
+        if (problem != null) {
+            hits.incrementAndGet();
+            return problem;
+        }
+        misses.incrementAndGet();
+        return MathGen.generateForLevel(level, isBoss);
+    }
+
+    /**
+     * Tops up every ring. Must only ever be called from one thread at a time (the producer).
+     * @return how many problems were generated
+     */
+    public int fill() {
+        int generated = 0;
+        for (int key = 0; key < rings.length; key++) {
+            ProblemRing ring = rings[key];
+            while (ring.size() < ring.capacity()) {
+                MathGen problem = new MathGen();
+                MathGen.generateForLevel(levelOf(key), isBossOf(key), problem, producerRandom);
+                if (!ring.offer(problem)) break;
+                generated++;
+            }
+        }
+        return generated;
+    }
+
+    /** @param refillSignal called (from any consumer thread) when a ring runs low; must not block */
+    public void setRefillSignal(Runnable refillSignal) {
+        this.refillSignal = refillSignal;
+    }
+
+    // Problems served from the pool, and ones that had to be generated on the spot
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+}
@@ -0,0 +1,53 @@
+package gg.group3.justgo.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded lock-free ring of ready-made problems. One producer thread, any number of consumers.
+ * <p>
+ * The producer only ever advances {@code tail} and consumers race for {@code head} with a CAS,
+ * so a slot is never overwritten while a consumer may still claim it: the producer waits for
+ * {@code head} to move past it first.
+ */
+class ProblemRing {
+    private final MathGen[] slots;
+    private final AtomicInteger head = new AtomicInteger(); // Next slot to take
+    private final AtomicInteger tail = new AtomicInteger(); // Next slot to fill
+
+    ProblemRing(int capacity) {
+        slots = new MathGen[capacity];
+    }
+
+    /** Producer only. @return false if the ring is full */
+    boolean offer(MathGen problem) {
+        int t = tail.get();
+        if (t - head.get() >= slots.length) return false;
+        slots[index(t)] = problem;
+        tail.set(t + 1); // Publishes the slot to consumers
+        return true;
+    }
+
+    /** @return a problem, or null if the ring is empty */
+    MathGen poll() {
+        while (true) {
+            int h = head.get();
+            if (h == tail.get()) return null;
+            MathGen problem = slots[index(h)];
+            if (head.compareAndSet(h, h + 1)) return problem;
+            // Another consumer took it first, try the next one
+        }
+    }
+
+    int size() {
+        return tail.get() - head.get();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    // Counters wrap around after 2^31 problems; the difference stays correct, the index must too
+    private int index(int counter) {
+        return (counter & Integer.MAX_VALUE) % slots.length;
+    }
+}
@@ -0,0 +1,78 @@
+package gg.group3.justgo.gwt;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.gwt.GwtApplication;
+import com.badlogic.gdx.backends.gwt.preloader.Preloader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import gg.group3.justgo.managers.AssetBundles;
+
+/**
+ * Downloads the bundles {@code BundleAssetFilter} split the assets into, through the backend's
+ * preloader. The page only waits for the default "assets" bundle; the others are fetched the
+ * first time the game asks for them, once. A bundle that failed to download is fetched again the
+ * next time it's asked for.
+ */
+public class GwtAssetBundles extends AssetBundles {
+    private final GwtApplication application;
+    private final ObjectSet<String> ready = new ObjectSet<>();
+    private final ObjectMap<String, Array<Runnable>> waiting = new ObjectMap<>(); // Bundles downloading
+    private final ObjectMap<String, Array<Runnable>> failing = new ObjectMap<>(); // Their failure callbacks
+
+    public GwtAssetBundles(GwtApplication application) {
+        this.application = application;
+    }
+
+    @Override
+    public void fetch(String bundle, Runnable whenReady, Runnable whenFailed) {
+        if (ready.contains(bundle)) {
+            whenReady.run();
+            return;
+        }
+        Array<Runnable> callbacks = waiting.get(bundle);
+        if (callbacks != null) {
+            callbacks.add(whenReady);
+            failing.get(bundle).add(whenFailed);
+            return;
+        }
+        callbacks = new Array<>();
+        callbacks.add(whenReady);
+        waiting.put(bundle, callbacks);
+        Array<Runnable> failureCallbacks = new Array<>();
+        failureCallbacks.add(whenFailed);
+        failing.put(bundle, failureCallbacks);
+
+        application.getPreloader().preload(bundle + ".txt", new Preloader.PreloaderCallback() {
+            private boolean failed = false; // The preloader counts failed files as done too
+
+            @Override
+            public void update(Preloader.PreloaderState state) {
+                if (failed || !state.hasEnded() || ready.contains(bundle)) return;
+                ready.add(bundle);
+                Gdx.app.log("Assets", "Bundle " + bundle + " fetched");
+                failing.remove(bundle);
+                for (Runnable callback : waiting.remove(bundle)) {
+                    callback.run();
+                }
+            }
+
+            @Override
+            public void error(String file) {
+                Gdx.app.error("Assets", "Could not fetch " + file + " of bundle " + bundle);
+                if (failed) return; // Reported already
+                failed = true;
+                // Forget the download so the next fetch starts a new one
+                waiting.remove(bundle);
+                for (Runnable callback : failing.remove(bundle)) {
+                    callback.run();
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isReady(String bundle) {
+        return ready.contains(bundle);
+    }
+}
@@ -4,6 +4,7 @@ import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.backends.gwt.GwtApplication;
 import com.badlogic.gdx.backends.gwt.GwtApplicationConfiguration;
 import gg.group3.justgo.JustGo;
+import gg.group3.justgo.managers.AssetBundles;
 
 /** Launches the GWT application. */
 public class GwtLauncher extends GwtApplication {
@@ -21,6 +22,8 @@ public class GwtLauncher extends GwtApplication {
 
         @Override
         public ApplicationListener createApplicationListener () {
+            // Audio and the later levels are downloaded once the game asks for them
+            AssetBundles.install(new GwtAssetBundles(this));
             return new JustGo();
         }
 }
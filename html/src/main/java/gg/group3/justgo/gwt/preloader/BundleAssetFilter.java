@@ -0,0 +1,39 @@
+package gg.group3.justgo.gwt.preloader;
+
+import com.badlogic.gdx.backends.gwt.preloader.DefaultAssetFilter;
+
+/**
+ * Decides, while GWT compiles, which files of assets/ go into which download (set as
+ * gdx.assetfilterclass in GdxDefinition.gwt.xml, not part of the compiled game).
+ * <p>
+ * The "assets" bundle is all the page waits for: the packed atlas, skins, fonts, the splash and
+ * the first level. Sound effects, the music and every later level are bundles of their own that
+ * {@code GwtAssetBundles} fetches on demand. The source images that core:packTextures already put
+ * into packed/game.atlas, the editor files and generated benchmark levels are left out.
+ */
+public class BundleAssetFilter extends DefaultAssetFilter {
+    @Override
+    public boolean accept(String file, boolean isDirectory) {
+        String path = file.replace('\\', '/');
+        if (isDirectory) return super.accept(file, true);
+        if (path.endsWith(".aseprite") || path.endsWith(".ttf")) return false;
+        if (path.contains("levels/gen")) return false; // Generated benchmark levels
+        if (path.equals("atlas.png") || path.endsWith("/atlas.png") || path.endsWith("images/title.png")) return false;
+        if (path.contains("fonts/") && path.endsWith(".png")) return false;
+        if (path.contains("ui/question-screen.atlas") || path.contains("ui/question-screen.png")) return false;
+        return super.accept(file, false);
+    }
+
+    @Override
+    public String getBundleName(String file) {
+        String path = file.replace('\\', '/');
+        if (path.endsWith("audio/bg.mp3")) return "music";
+        if (path.contains("audio/")) return "audio";
+        int level = path.lastIndexOf("levels/level");
+        if (level >= 0 && path.endsWith(".tmx")) {
+            String index = path.substring(level + "levels/level".length(), path.length() - ".tmx".length());
+            if (!index.equals("1")) return "level" + index;
+        }
+        return super.getBundleName(file);
+    }
+}
@@ -0,0 +1,183 @@
+package gg.group3.justgo.lwjgl3;
+
+import gg.group3.justgo.managers.GameTrace;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * Emits the {@link GameTrace} spans as Java Flight Recorder events, under "Just Go" in JDK
+ * Mission Control. While no recording runs, each begin is an allocation and a flag check.
+ * <p>
+ * Needs Java 11, so it lives in its own source set and the launcher only loads it for {@code --jfr}.
+ */
+public class JfrGameTrace extends GameTrace implements Closeable {
+    private final Recording recording;
+
+    /** @param destination where to write a recording of the whole session, or null to leave recording to others */
+    public JfrGameTrace(File destination) throws IOException, ParseException {
+        if (destination == null) {
+            recording = null;
+            return;
+        }
+        recording = new Recording(Configuration.getConfiguration("profile"));
+        recording.setName("Just Go");
+        recording.setToDisk(true);
+        recording.setDestination(destination.toPath());
+        recording.start();
+    }
+
+    // Ends the recording, which writes it to the destination
+    @Override
+    public void close() {
+        if (recording == null) return;
+        recording.stop();
+        recording.close();
+    }
+
+    private static Object begin(Event event) {
+        if (!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginLevelLoad(int levelIndex) { return begin(new LevelLoadEvent()); }
+
+    @Override
+    public void endLevelLoad(Object span, int levelIndex, int width, int height, int entityCount) {
+        if (span == null) return;
+        LevelLoadEvent event = (LevelLoadEvent) span;
+        event.levelIndex = levelIndex;
+        event.width = width;
+        event.height = height;
+        event.entityCount = entityCount;
+        event.commit();
+    }
+
+    @Override
+    public Object beginTurn() { return begin(new TurnEvent()); }
+
+    @Override
+    public void endTurn(Object span, int levelIndex, int turn, int entityCount, boolean playerMoved) {
+        if (span == null) return;
+        TurnEvent event = (TurnEvent) span;
+        event.levelIndex = levelIndex;
+        event.turn = turn;
+        event.entityCount = entityCount;
+        event.playerMoved = playerMoved;
+        event.commit();
+    }
+
+    @Override
+    public Object beginVisibilityUpdate() { return begin(new VisibilityUpdateEvent()); }
+
+    @Override
+    public void endVisibilityUpdate(Object span, int tilesTouched) {
+        if (span == null) return;
+        VisibilityUpdateEvent event = (VisibilityUpdateEvent) span;
+        event.tilesTouched = tilesTouched;
+        event.commit();
+    }
+
+    @Override
+    public Object beginProblemGeneration() { return begin(new ProblemGenerationEvent()); }
+
+    @Override
+    public void endProblemGeneration(Object span, int level, boolean isBoss) {
+        if (span == null) return;
+        ProblemGenerationEvent event = (ProblemGenerationEvent) span;
+        event.level = level;
+        event.isBoss = isBoss;
+        event.commit();
+    }
+
+    @Override
+    public Object beginQuestion() { return begin(new QuestionEvent()); }
+
+    @Override
+    public void endQuestion(Object span, int answers, boolean lastCorrect) {
+        if (span == null) return;
+        QuestionEvent event = (QuestionEvent) span;
+        event.answers = answers;
+        event.lastCorrect = lastCorrect;
+        event.commit();
+    }
+
+    @Override
+    public Object beginScreenChange() { return begin(new ScreenChangeEvent()); }
+
+    @Override
+    public void endScreenChange(Object span, String from, String to) {
+        if (span == null) return;
+        ScreenChangeEvent event = (ScreenChangeEvent) span;
+        event.from = from;
+        event.to = to;
+        event.commit();
+    }
+
+    // --- EVENTS ---
+
+    @Name("gg.group3.justgo.LevelLoad")
+    @Label("Level Load")
+    @Category("Just Go")
+    static class LevelLoadEvent extends Event {
+        @Label("Level") int levelIndex;
+        @Label("Width") int width;
+        @Label("Height") int height;
+        @Label("Entities") int entityCount;
+    }
+
+    @Name("gg.group3.justgo.Turn")
+    @Label("Turn")
+    @Description("WorldManager.processTurn, on the turn engine's thread")
+    @Category("Just Go")
+    static class TurnEvent extends Event {
+        @Label("Level") int levelIndex;
+        @Label("Turn") int turn;
+        @Label("Entities") int entityCount;
+        @Label("Player Moved") boolean playerMoved;
+    }
+
+    @Name("gg.group3.justgo.VisibilityUpdate")
+    @Label("Visibility Update")
+    @Category("Just Go")
+    static class VisibilityUpdateEvent extends Event {
+        @Label("Tiles Touched") @Description("Fog tiles written, dimmed or lit") int tilesTouched;
+    }
+
+    @Name("gg.group3.justgo.ProblemGeneration")
+    @Label("Problem Generation")
+    @Description("One MathGen problem, usually on the pool filler thread")
+    @Category("Just Go")
+    static class ProblemGenerationEvent extends Event {
+        @Label("Level") int level;
+        @Label("Boss") boolean isBoss;
+    }
+
+    @Name("gg.group3.justgo.Question")
+    @Label("Question")
+    @Description("A question on screen, from show to hide")
+    @Category("Just Go")
+    static class QuestionEvent extends Event {
+        @Label("Answers") int answers;
+        @Label("Last Correct") boolean lastCorrect;
+    }
+
+    @Name("gg.group3.justgo.ScreenChange")
+    @Label("Screen Change")
+    @Category("Just Go")
+    static class ScreenChangeEvent extends Event {
+        @Label("From") String from;
+        @Label("To") String to;
+    }
+}
@@ -0,0 +1,52 @@
+package gg.group3.justgo.lwjgl3;
+
+import gg.group3.justgo.managers.PerfMonitor;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/** Heap and GC figures from the JVM's management beans, read once per second by {@link PerfMonitor}. */
+public class JmxMemoryStats implements PerfMonitor.MemoryStats {
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long allocated = 0;
+
+    @Override
+    public long getHeapUsedBytes() {
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Summed over the live threads, so bytes allocated by threads that have since ended drop
+     * out; the total is kept from going backwards, which can under-count the second one ends in.
+     */
+    @Override
+    public long getAllocatedBytes() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1; // Not HotSpot
+        long[] perThread = ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threads.getAllThreadIds());
+        long sum = 0;
+        for (long bytes : perThread) {
+            if (bytes > 0) sum += bytes; // -1 for threads that ended meanwhile
+        }
+        allocated = Math.max(allocated, sum);
+        return allocated;
+    }
+
+    @Override
+    public long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) count += Math.max(0, collector.getCollectionCount());
+        return count;
+    }
+
+    @Override
+    public long getGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) millis += Math.max(0, collector.getCollectionTime());
+        return millis;
+    }
+}
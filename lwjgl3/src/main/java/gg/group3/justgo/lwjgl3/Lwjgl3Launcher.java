@@ -2,17 +2,159 @@ package gg.group3.justgo.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
 import gg.group3.justgo.JustGo;
+import gg.group3.justgo.managers.GameTrace;
+import gg.group3.justgo.managers.LatencyTracer;
+import gg.group3.justgo.managers.PerfMonitor;
+import gg.group3.justgo.managers.RenderScheduler;
+import gg.group3.justgo.managers.StartupTimeline;
+import gg.group3.justgo.managers.TurnProfiler;
+import gg.group3.justgo.utils.ProblemPool;
 
-/** Launches the desktop (LWJGL3) application. */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Launches the desktop (LWJGL3) application.
+ * <p>
+ * {@code --profile-turns <file>} times every turn phase and writes the percentiles to the file
+ * (CSV, or JSON if it ends in .json) on exit. F9 in game logs them at any time.
+ * <p>
+ * {@code --latency <file>} measures key press to turn done to first frame showing it, written
+ * on exit (and logged by F9). {@code --input-first} reads input before drawing each frame.
+ * <p>
+ * {@code --perf-log <file>} writes frame, GC and draw call figures (what F3 shows) to a rolling
+ * CSV file, one line per second.
+ * <p>
+ * {@code --jfr [file]} emits level load, turn, fog, question and screen events to Java Flight
+ * Recorder (Java 11+). With a file the whole session is recorded to it; without one the events
+ * only show up in recordings started elsewhere, e.g. with -XX:StartFlightRecording or JMC.
+ * <p>
+ * Frames are only drawn while something moves (see {@link RenderScheduler}) and capped while
+ * the window is unfocused; {@code --continuous} draws every frame like before.
+ * <p>
+ * {@code --lowres} draws the world at 320x180 and scales it up by whole pixels, for weak
+ * integrated graphics; the UI stays at window resolution.
+ * <p>
+ * The time from the JVM's start to the first frame is logged once it is drawn, the startup timeline (see
+ * {@link StartupTimeline}) once the main menu shows; both times are printed again on exit.
+ * <p>
+ * {@code --training-run} plays splash, menu and the first level by itself and quits, see
+ * {@link TrainingRunGame}.
+ */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        long launchNanos = jvmStartNanos();
+        String turnProfile = null;
+        String perfLogPath = null;
+        String latencyPath = null;
+        boolean inputFirst = false;
+        boolean continuous = false;
+        boolean lowRes = false;
+        boolean trainingRun = false;
+        boolean jfr = false;
+        String jfrPath = null;
+        for (int i = 0; i < args.length; i++) {
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            if (args[i].equals("--profile-turns") && hasValue) turnProfile = args[++i];
+            else if (args[i].equals("--perf-log") && hasValue) perfLogPath = args[++i];
+            else if (args[i].equals("--latency") && hasValue) latencyPath = args[++i];
+            else if (args[i].equals("--input-first")) inputFirst = true;
+            else if (args[i].equals("--continuous")) continuous = true;
+            else if (args[i].equals("--lowres")) lowRes = true;
+            else if (args[i].equals("--training-run")) trainingRun = true;
+            else if (args[i].equals("--jfr")) {
+                jfr = true;
+                if (hasValue) jfrPath = args[++i];
+            }
+        }
+        if (turnProfile != null) TurnProfiler.getInstance().setEnabled(true);
+        if (latencyPath != null) LatencyTracer.getInstance().setEnabled(true);
+        // A training run has no input to wake it up
+        RenderScheduler.getInstance().setEnabled(!continuous && !trainingRun, getForegroundFps());
+
+        PerfMonitor.getInstance().setMemoryStats(new JmxMemoryStats());
+        RollingPerfLog perfLog = perfLogPath == null ? null : new RollingPerfLog(new File(perfLogPath));
+        PerfMonitor.getInstance().setSink(perfLog);
+
+        Closeable jfrTrace = jfr ? startJfrTrace(jfrPath) : null;
+
+        new ProblemPoolFiller(ProblemPool.getInstance()).start(); // Questions are ready before the first collision
+        JustGo game = createGame(inputFirst, lowRes, launchNanos, trainingRun);
+        new Lwjgl3Application(game, getDefaultConfiguration());
+
+        if (game.getTimeToFirstFrameMillis() >= 0) {
+            System.out.println("Time to first frame: " + game.getTimeToFirstFrameMillis() + " ms");
+        }
+        if (StartupTimeline.getInstance().getInteractiveMillis() >= 0) {
+            System.out.println("Time to interactive: " + StartupTimeline.getInstance().getInteractiveMillis() + " ms");
+        }
+
+        ProblemPool pool = ProblemPool.getInstance();
+        System.out.println("Problem pool: " + pool.getHits() + " served from the pool, "
+            + pool.getMisses() + " generated on the spot");
+        if (perfLog != null) perfLog.close();
+        if (jfrTrace != null) {
+            try {
+                jfrTrace.close();
+                if (jfrPath != null) System.out.println("Flight recording written to " + jfrPath);
+            } catch (IOException e) {
+                System.err.println("Could not write the flight recording: " + e);
+            }
+        }
+        if (latencyPath != null) {
+            LatencyTracer.getInstance().writeTo(new FileHandle(latencyPath));
+            System.out.println("Input latency written to " + latencyPath);
+        }
+        if (turnProfile != null) {
+            TurnProfiler.getInstance().writeTo(new FileHandle(turnProfile));
+            System.out.println("Turn profile written to " + turnProfile);
+        }
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new JustGo(), getDefaultConfiguration());
+    /**
+     * Installs the Flight Recorder events. Loaded by name since they need Java 11: on Java 8
+     * the game still runs, just without them.
+     */
+    private static Closeable startJfrTrace(String recordingPath) {
+        try {
+            Object trace = Class.forName("gg.group3.justgo.lwjgl3.JfrGameTrace")
+                .getConstructor(File.class)
+                .newInstance(recordingPath == null ? null : new File(recordingPath));
+            GameTrace.install((GameTrace) trace);
+            return (Closeable) trace;
+        } catch (InvocationTargetException e) {
+            System.err.println("Could not start the flight recording: " + e.getCause());
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Flight Recorder events need Java 11 or later, running without them: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * When the JVM started, in {@code TimeUtils.nanoTime()} terms. Startup times count from there,
+     * so they include the class loading before main() that class data sharing speeds up.
+     */
+    private static long jvmStartNanos() {
+        long sinceStartMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        return TimeUtils.nanoTime() - TimeUtils.millisToNanos(sinceStartMillis);
+    }
+
+    private static JustGo createGame(boolean inputBeforeDraw, boolean lowResWorld, long launchNanos, boolean trainingRun) {
+        // Turns run on their own thread so a slow turn never stalls a frame
+        JustGo game = trainingRun ? new TrainingRunGame(ThreadedTurnEngine::new) : new JustGo(ThreadedTurnEngine::new);
+        game.inputBeforeDraw = inputBeforeDraw;
+        game.lowResWorld = lowResWorld;
+        game.launchNanos = launchNanos;
+        return game;
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -23,7 +165,7 @@ public class Lwjgl3Launcher {
         configuration.useVsync(true);
         //// Limits FPS to the refresh rate of the currently active monitor, plus 1 to try to match fractional
         //// refresh rates. The Vsync setting above should limit the actual FPS to match the monitor.
-        configuration.setForegroundFPS(Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1);
+        configuration.setForegroundFPS(getForegroundFps());
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
@@ -32,6 +174,22 @@ public class Lwjgl3Launcher {
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
         //// They can also be loaded from the root of assets/ .
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");
+        // A window in the background only needs to keep animating, not at full rate
+        configuration.setWindowListener(new Lwjgl3WindowAdapter() {
+            @Override
+            public void focusLost() {
+                RenderScheduler.getInstance().setFocused(false);
+            }
+
+            @Override
+            public void focusGained() {
+                RenderScheduler.getInstance().setFocused(true);
+            }
+        });
         return configuration;
     }
+
+    private static int getForegroundFps() {
+        return Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1;
+    }
 }
@@ -0,0 +1,34 @@
+package gg.group3.justgo.lwjgl3;
+
+import gg.group3.justgo.utils.ProblemPool;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps the {@link ProblemPool} topped up from a low priority background thread, so questions
+ * never have to be generated on the render or turn thread.
+ */
+public class ProblemPoolFiller {
+    private final ProblemPool pool;
+    private final Thread thread;
+
+    public ProblemPoolFiller(ProblemPool pool) {
+        this.pool = pool;
+        thread = new Thread(this::run, "Problem Pool Filler");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    public void start() {
+        pool.setRefillSignal(() -> LockSupport.unpark(thread));
+        thread.start();
+    }
+
+    private void run() {
+        while (true) {
+            pool.fill();
+            // A signal sent while filling leaves a permit, so the next park returns right away
+            LockSupport.park(this);
+        }
+    }
+}
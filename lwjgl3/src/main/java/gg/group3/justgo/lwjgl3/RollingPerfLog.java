@@ -0,0 +1,91 @@
+package gg.group3.justgo.lwjgl3;
+
+import gg.group3.justgo.managers.PerfMonitor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes one CSV line per second of {@link PerfMonitor} samples, for looking into stutter after
+ * the fact. When the file passes {@link #MAX_BYTES} it becomes {@code <name>.1} (older ones move
+ * up to {@code .2}, ...) and a new one starts, so a long session never fills the disk.
+ * <p>
+ * Lines are written by a background thread; the render thread only queues them.
+ */
+public class RollingPerfLog implements PerfMonitor.Sink {
+    private static final long MAX_BYTES = 1024 * 1024;
+    private static final int KEPT_FILES = 3; // Rolled over files, besides the current one
+    private static final String STOP = new String(); // Compared by identity, no sample line is this instance
+
+    private final File file;
+    private final LinkedBlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private Writer writer;
+    private long written;
+
+    public RollingPerfLog(File file) {
+        this.file = file;
+        thread = new Thread(this::run, "Perf Log Writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void write(PerfMonitor.Sample sample) {
+        lines.add(sample.toCsv());
+    }
+
+    private void run() {
+        try {
+            open();
+            while (true) {
+                String line = lines.take();
+                if (line == STOP) break;
+                if (written >= MAX_BYTES) {
+                    writer.close();
+                    roll();
+                    open();
+                }
+                writer.write(line);
+                writer.write('\n');
+                writer.flush(); // A crash should still leave the seconds before it
+                written += line.length() + 1;
+            }
+            writer.close();
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Perf log stopped: " + e);
+        }
+    }
+
+    private void open() throws IOException {
+        boolean isNew = !file.exists() || file.length() == 0;
+        writer = new FileWriter(file, true);
+        written = file.length();
+        if (isNew) {
+            writer.write(PerfMonitor.Sample.CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    // name.2 -> name.3 (the old name.3 is dropped), name.1 -> name.2, name -> name.1
+    private void roll() {
+        new File(file.getPath() + "." + KEPT_FILES).delete();
+        for (int i = KEPT_FILES - 1; i >= 1; i--) {
+            new File(file.getPath() + "." + i).renameTo(new File(file.getPath() + "." + (i + 1)));
+        }
+        file.renameTo(new File(file.getPath() + ".1"));
+    }
+
+    /** Writes what is queued and stops. */
+    public void close() {
+        lines.add(STOP);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package gg.group3.justgo.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import gg.group3.justgo.entities.Entity;
+import gg.group3.justgo.managers.SoundManager;
+import gg.group3.justgo.managers.TurnEngine;
+import gg.group3.justgo.managers.WorldEventListener;
+import gg.group3.justgo.managers.WorldManager;
+import gg.group3.justgo.utils.MathGen;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs turns on a dedicated thread so a slow turn never delays a frame. The render thread
+ * only submits moves and reads the snapshots {@link WorldManager#publishSnapshot()} hands over.
+ * Everything the world reports back (questions, sounds) is replayed on the render thread.
+ */
+public class ThreadedTurnEngine implements TurnEngine {
+    private final WorldManager world;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean busy = new AtomicBoolean(false);
+    private volatile boolean running = true;
+
+    public ThreadedTurnEngine(WorldManager world) {
+        this.world = world;
+
+        WorldEventListener uiListener = world.getListener();
+        world.setListener(new WorldEventListener() {
+            @Override
+            public void onQuestionTriggered(Entity target, MathGen problem) {
+                Gdx.app.postRunnable(() -> uiListener.onQuestionTriggered(target, problem));
+            }
+
+            @Override
+            public void onGameOver() {
+                Gdx.app.postRunnable(uiListener::onGameOver);
+            }
+        });
+        SoundManager.getInstance().setDeferPlayback(true);
+
+        thread = new Thread(this::run, "Turn Engine");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (running) {
+            Runnable task = tasks.poll();
+            if (task == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                // Crash on the render thread, where the application can report it
+                Gdx.app.postRunnable(() -> {
+                    throw new GdxRuntimeException("Turn engine failed", t);
+                });
+                running = false;
+            }
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        tasks.add(task);
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public boolean submitTurn(int dirX, int dirY) {
+        if (!busy.compareAndSet(false, true)) return false;
+
+        enqueue(() -> {
+            world.processTurn(dirX, dirY);
+            world.publishSnapshot();
+            // Posted after any question the turn raised, so the UI sees it before the next move
+            Gdx.app.postRunnable(() -> busy.set(false));
+        });
+        return true;
+    }
+
+    @Override
+    public void requestSnapshot() {
+        enqueue(world::publishSnapshot);
+    }
+
+    @Override
+    public boolean isIdle() {
+        return !busy.get();
+    }
+
+    @Override
+    public void dispose() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
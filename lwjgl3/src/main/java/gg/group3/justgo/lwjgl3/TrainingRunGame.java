@@ -0,0 +1,39 @@
+package gg.group3.justgo.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import gg.group3.justgo.JustGo;
+import gg.group3.justgo.managers.TurnEngine;
+import gg.group3.justgo.screens.GameScreen;
+import gg.group3.justgo.screens.MainMenuScreen;
+
+/**
+ * Plays through what every start goes through, hands off: the splash screen, a moment of the
+ * main menu, then the first level for a few seconds, and quits. Run with {@code --training-run}
+ * to record the classes a start loads into a class data sharing archive (lwjgl3:cdsArchive).
+ */
+class TrainingRunGame extends JustGo {
+    private static final int MENU_FRAMES = 30;
+    private static final int LEVEL_FRAMES = 180;
+
+    private int menuFrames = 0;
+    private int levelFrames = -1; // -1 until the level shows
+
+    TrainingRunGame(TurnEngine.Factory turnEngines) {
+        super(turnEngines);
+    }
+
+    @Override
+    public void render() {
+        super.render();
+        Screen current = getScreen();
+        if (current instanceof MainMenuScreen && ++menuFrames == MENU_FRAMES) {
+            // Same as pressing PLAY
+            setScreen(new GameScreen(this));
+            current.dispose();
+            levelFrames = 0;
+        } else if (levelFrames >= 0 && ++levelFrames == LEVEL_FRAMES) {
+            Gdx.app.exit();
+        }
+    }
+}
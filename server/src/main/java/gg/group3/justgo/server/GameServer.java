@@ -0,0 +1,106 @@
+package gg.group3.justgo.server;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.managers.SoundManager;
+import gg.group3.justgo.managers.TurnProfiler;
+import gg.group3.justgo.utils.ProblemPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hosts many independent game sessions in one JVM, one virtual thread per connected client.
+ * Sessions block on plain socket reads; the JVM parks them instead of holding a platform
+ * thread each, so thousands of mostly idle students cost little more than their worlds.
+ * <p>
+ * Usage: {@code GameServer [port] [--public] [--profile-turns <file>]}. Binds to loopback unless
+ * {@code --public} is given. With {@code --profile-turns}, turn phase percentiles for all sessions
+ * are written to the file (CSV, or JSON if it ends in .json) when the server shuts down.
+ */
+public class GameServer {
+    public static final int LEVEL_COUNT = 3;
+
+    private final GameLevel[] levels;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+
+    public GameServer(int port, boolean bindPublic) throws IOException {
+        // Levels are read-only after loading, every session shares the same instances
+        levels = new GameLevel[LEVEL_COUNT];
+        for (int i = 0; i < LEVEL_COUNT; i++) {
+            levels[i] = GameLevel.loadWithoutGraphics(GameLevel.levelFile(i + 1));
+        }
+
+        // Questions come from the pool, so sessions don't all generate on one shared Random
+        new ProblemPoolFiller(ProblemPool.getInstance()).start();
+
+        InetAddress address = bindPublic ? null : InetAddress.getLoopbackAddress();
+        serverSocket = new ServerSocket(port, 1024, address);
+    }
+
+    public void serve() {
+        System.out.println("Listening on " + serverSocket.getLocalSocketAddress());
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket client = serverSocket.accept();
+                sessions.execute(new ServerSession(client, levels));
+            }
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) Gdx.app.error("Server", "Accept failed", e);
+        } finally {
+            sessions.shutdownNow();
+        }
+    }
+
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    public static void main(String[] args) {
+        int port = Protocol.DEFAULT_PORT;
+        boolean bindPublic = false;
+        String turnProfile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--public")) bindPublic = true;
+            else if (args[i].equals("--profile-turns") && i + 1 < args.length) turnProfile = args[++i];
+            else port = Integer.parseInt(args[i]);
+        }
+        if (turnProfile != null) {
+            TurnProfiler.getInstance().setEnabled(true);
+            File profileFile = new File(turnProfile);
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                TurnProfiler.getInstance().writeTo(new FileHandle(profileFile)), "Turn Profile Writer"));
+        }
+        final int serverPort = port;
+        final boolean serverPublic = bindPublic;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = 1; // Nothing to render, keep the idle loop cheap
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                // Per-turn logs from thousands of sessions would drown everything else
+                Gdx.app.setLogLevel(Application.LOG_ERROR);
+                SoundManager.getInstance(); // Create the (silent) singleton before sessions race for it
+                try {
+                    GameServer server = new GameServer(serverPort, serverPublic);
+                    Thread.ofPlatform().name("Server Accept").start(server::serve);
+                } catch (IOException e) {
+                    Gdx.app.error("Server", "Could not start", e);
+                    Gdx.app.exit();
+                }
+            }
+        }, config);
+    }
+}
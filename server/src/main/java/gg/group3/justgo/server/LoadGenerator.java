@@ -0,0 +1,167 @@
+package gg.group3.justgo.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays scripted students against a running {@link GameServer}: random moves, random answers.
+ * Doubles the number of concurrent sessions each round until the p99 turn latency goes over
+ * budget, then reports how many sessions per core the server sustained.
+ * <p>
+ * Usage: {@code LoadGenerator [--port 7777] [--start 250] [--sessions 16000] [--turns 200]
+ * [--level 1] [--budget-ms 50]}
+ */
+public class LoadGenerator {
+    private final int port;
+    private final int turns;
+    private final int level;
+
+    public LoadGenerator(int port, int turns, int level) {
+        this.port = port;
+        this.turns = turns;
+        this.level = level;
+    }
+
+    /** Runs one round and returns every request's round trip time in nanoseconds, sorted. */
+    public long[] runRound(int sessionCount) throws InterruptedException {
+        long[][] latencies = new long[sessionCount][];
+        AtomicInteger failures = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessionCount; i++) {
+                final int session = i;
+                clients.execute(() -> {
+                    try {
+                        latencies[session] = playSession();
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                        latencies[session] = new long[0];
+                    }
+                });
+            }
+        } // close() waits for every client
+
+        if (failures.get() > 0) System.out.println("  " + failures.get() + " sessions failed");
+
+        int total = 0;
+        for (long[] session : latencies) total += session.length;
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] session : latencies) {
+            System.arraycopy(session, 0, all, offset, session.length);
+            offset += session.length;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private long[] playSession() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[turns + 1];
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            int flags = Protocol.FLAG_GAME_OVER; // Forces the HELLO below
+            int optionCount = 0;
+            for (int i = 0; i <= turns; i++) {
+                long start = System.nanoTime();
+
+                if ((flags & (Protocol.FLAG_GAME_OVER | Protocol.FLAG_LEVEL_CLEARED)) != 0) {
+                    out.writeByte(Protocol.HELLO);
+                    out.writeByte(level);
+                } else if ((flags & Protocol.FLAG_QUESTION) != 0) {
+                    out.writeByte(Protocol.ANSWER);
+                    out.writeByte(random.nextInt(optionCount));
+                } else {
+                    out.writeByte(Protocol.MOVE);
+                    out.writeByte(random.nextInt(4));
+                }
+                out.flush();
+
+                if (in.readUnsignedByte() != Protocol.STATE) throw new IOException("Unexpected reply");
+                in.readInt();   // turn
+                in.readShort(); // x
+                in.readShort(); // y
+                in.readByte();  // health
+                flags = in.readUnsignedByte();
+                if ((flags & Protocol.FLAG_QUESTION) != 0) {
+                    in.readUTF();
+                    optionCount = in.readUnsignedByte();
+                    for (int o = 0; o < optionCount; o++) in.readUTF();
+                }
+                in.skipNBytes(in.readInt()); // Turn delta
+
+                latencies[i] = System.nanoTime() - start;
+            }
+
+            out.writeByte(Protocol.BYE);
+            out.flush();
+        }
+        return latencies;
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int port = Protocol.DEFAULT_PORT;
+        int start = 250;
+        int maxSessions = 16000;
+        int turns = 200;
+        int level = 1;
+        double budgetMs = 50;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(value); break;
+                case "--start": start = Integer.parseInt(value); break;
+                case "--sessions": maxSessions = Integer.parseInt(value); break;
+                case "--turns": turns = Integer.parseInt(value); break;
+                case "--level": level = Integer.parseInt(value); break;
+                case "--budget-ms": budgetMs = Double.parseDouble(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        LoadGenerator generator = new LoadGenerator(port, turns, level);
+        System.out.printf(Locale.ROOT, "%d cores, %d turns per session, p99 budget %.1f ms%n", cores, turns, budgetMs);
+        System.out.println("sessions  turns/s   p50 ms   p99 ms   max ms");
+
+        int sustained = 0;
+        for (int sessions = start; sessions <= maxSessions; sessions *= 2) {
+            long begin = System.nanoTime();
+            long[] latencies = generator.runRound(sessions);
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            double p99 = percentileMs(latencies, 99);
+            System.out.printf(Locale.ROOT, "%8d %9.0f %8.2f %8.2f %8.2f%n",
+                sessions, latencies.length / seconds, percentileMs(latencies, 50), p99, percentileMs(latencies, 100));
+
+            if (p99 > budgetMs) break;
+            sustained = sessions;
+        }
+
+        // The server shares this machine over loopback, so the client's core count is the server's
+        System.out.printf(Locale.ROOT, "Sustained %d sessions within budget: %.0f sessions per core%n",
+            sustained, sustained / (double) cores);
+    }
+}
@@ -0,0 +1,34 @@
+package gg.group3.justgo.server;
+
+import gg.group3.justgo.utils.ProblemPool;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps the {@link ProblemPool} topped up from one platform thread, so sessions take their
+ * questions from it instead of all generating on the spot on MathGen's shared, contended Random.
+ * Unlike the desktop filler it runs at normal priority: under load it has to keep up with every
+ * session at once.
+ */
+class ProblemPoolFiller {
+    private final ProblemPool pool;
+    private final Thread thread;
+
+    ProblemPoolFiller(ProblemPool pool) {
+        this.pool = pool;
+        thread = Thread.ofPlatform().name("Problem Pool Filler").daemon(true).unstarted(this::run);
+    }
+
+    void start() {
+        pool.setRefillSignal(() -> LockSupport.unpark(thread));
+        thread.start();
+    }
+
+    private void run() {
+        while (true) {
+            pool.fill();
+            // A signal sent while filling leaves a permit, so the next park returns right away
+            LockSupport.park(this);
+        }
+    }
+}
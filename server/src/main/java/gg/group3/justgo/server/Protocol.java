@@ -0,0 +1,52 @@
+package gg.group3.justgo.server;
+
+/**
+ * The wire format between a client and {@link GameServer}. Every message is one opcode byte
+ * followed by a fixed payload, written with {@link java.io.DataOutputStream} (big endian).
+ *
+ * <pre>
+ * client -> server
+ *   HELLO   u8 level               start (or restart) a session on the given level
+ *   MOVE    u8 direction           one turn, see DIR_*
+ *   ANSWER  u8 option              answers the pending question with option index
+ *   BYE                            closes the session
+ *
+ * server -> client, once per HELLO / MOVE / ANSWER
+ *   STATE   i32 turn, i16 x, i16 y, i8 health, u8 flags
+ *           [if FLAG_QUESTION: utf question, u8 count, count * utf option]
+ *           i32 length, length * u8 delta
+ * </pre>
+ * The delta is a {@link gg.group3.justgo.managers.TurnDelta} of everything that changed since
+ * the previous STATE; after a HELLO it is relative to the level as loaded from its TMX file, so
+ * it holds the fog the player starts with (entities haven't changed yet).
+ */
+public final class Protocol {
+    private Protocol() { }
+
+    public static final int DEFAULT_PORT = 7777;
+
+    // --- OPCODES ---
+    public static final int HELLO = 1;
+    public static final int MOVE = 2;
+    public static final int ANSWER = 3;
+    public static final int BYE = 4;
+    public static final int STATE = 5;
+
+    // --- DIRECTIONS ---
+    public static final int DIR_UP = 0;
+    public static final int DIR_DOWN = 1;
+    public static final int DIR_LEFT = 2;
+    public static final int DIR_RIGHT = 3;
+
+    private static final int[] DIR_X = {0, 0, -1, 1};
+    private static final int[] DIR_Y = {1, -1, 0, 0};
+
+    // --- STATE FLAGS ---
+    public static final int FLAG_QUESTION = 1;       // A question is pending, only ANSWER is accepted
+    public static final int FLAG_LAST_CORRECT = 2;   // Reply to an ANSWER that was right
+    public static final int FLAG_LEVEL_CLEARED = 4;  // The boss died, send HELLO for the next level
+    public static final int FLAG_GAME_OVER = 8;      // The player died, send HELLO to retry
+
+    public static int dirX(int direction) { return DIR_X[direction]; }
+    public static int dirY(int direction) { return DIR_Y[direction]; }
+}
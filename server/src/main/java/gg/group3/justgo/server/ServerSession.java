@@ -0,0 +1,164 @@
+package gg.group3.justgo.server;
+
+import com.badlogic.gdx.Gdx;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.entities.Entity;
+import gg.group3.justgo.managers.BattleRules;
+import gg.group3.justgo.managers.TurnDelta;
+import gg.group3.justgo.managers.WorldEventListener;
+import gg.group3.justgo.managers.WorldManager;
+import gg.group3.justgo.utils.MathGen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * One connected student: a private {@link WorldManager} driven entirely by {@link Protocol}
+ * messages. Runs on its own (virtual) thread and never shares mutable state with other sessions,
+ * so turns are validated here with the same code the desktop game runs locally.
+ */
+class ServerSession implements Runnable, WorldEventListener {
+    private final Socket socket;
+    private final GameLevel[] levels;
+
+    private WorldManager world;
+    private int levelIndex;
+    private final TurnDelta delta = new TurnDelta(); // Reused for every reply
+
+    // The battle in progress, mirrors GameScreen's question flow
+    private Entity battleTarget;
+    private MathGen pendingProblem;
+    private int questionsQueue = 0;
+    private int resultFlags = 0;
+
+    ServerSession(Socket socket, GameLevel[] levels) {
+        this.socket = socket;
+        this.levels = levels;
+    }
+
+    @Override
+    public void run() {
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+            while (true) {
+                int opcode = in.read();
+                if (opcode == -1 || opcode == Protocol.BYE) break;
+
+                switch (opcode) {
+                    case Protocol.HELLO:
+                        start(in.readUnsignedByte());
+                        break;
+                    case Protocol.MOVE:
+                        move(in.readUnsignedByte());
+                        break;
+                    case Protocol.ANSWER:
+                        answer(in.readUnsignedByte());
+                        break;
+                    default:
+                        throw new IOException("Unknown opcode " + opcode);
+                }
+                writeState(out);
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Client went away mid message, nothing to clean up
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("Server", "Session ended: " + e.getMessage());
+        }
+    }
+
+    private void start(int level) throws IOException {
+        if (level < 1 || level > levels.length) throw new IOException("No level " + level);
+
+        levelIndex = level;
+        world = new WorldManager(levels[level - 1], null, this, level);
+        battleTarget = null;
+        pendingProblem = null;
+        questionsQueue = 0;
+        resultFlags = 0;
+    }
+
+    private void move(int direction) throws IOException {
+        if (world == null || direction > Protocol.DIR_RIGHT) throw new IOException("Invalid move");
+
+        resultFlags = 0;
+        // Like the desktop game, a pending question freezes the player until it is answered
+        if (pendingProblem != null || world.getPlayer().getHealth() <= 0) return;
+
+        world.processTurn(Protocol.dirX(direction), Protocol.dirY(direction));
+    }
+
+    private void answer(int option) throws IOException {
+        if (pendingProblem == null) throw new IOException("No question pending");
+        if (option >= MathGen.OPTION_COUNT) throw new IOException("Invalid option " + option);
+
+        boolean correct = pendingProblem.isCorrect(option);
+        Entity player = world.getPlayer();
+        BattleRules.applyAnswer(player, battleTarget, correct);
+        resultFlags = correct ? Protocol.FLAG_LAST_CORRECT : 0;
+        questionsQueue--;
+
+        if (battleTarget.getHealth() <= 0) {
+            if (battleTarget.isBoss()) resultFlags |= Protocol.FLAG_LEVEL_CLEARED;
+            endBattle();
+        } else if (player.getHealth() <= 0) {
+            resultFlags |= Protocol.FLAG_GAME_OVER;
+            endBattle();
+        } else if (questionsQueue > 0) {
+            pendingProblem = MathGen.getForLevel(levelIndex, battleTarget.isBoss());
+        } else {
+            endBattle();
+        }
+    }
+
+    private void endBattle() {
+        battleTarget = null;
+        pendingProblem = null;
+        questionsQueue = 0;
+    }
+
+    private void writeState(DataOutputStream out) throws IOException {
+        Entity player = world.getPlayer();
+        int flags = resultFlags;
+        if (pendingProblem != null) flags |= Protocol.FLAG_QUESTION;
+
+        out.writeByte(Protocol.STATE);
+        out.writeInt(world.getTurn());
+        out.writeShort(player.getTargetPos().x);
+        out.writeShort(player.getTargetPos().y);
+        out.writeByte(player.getHealth());
+        out.writeByte(flags);
+
+        if (pendingProblem != null) {
+            out.writeUTF(pendingProblem.getQuestion());
+            out.writeByte(MathGen.OPTION_COUNT);
+            for (int i = 0; i < MathGen.OPTION_COUNT; i++) out.writeUTF(pendingProblem.getOption(i));
+        }
+
+        world.writeDelta(delta);
+        out.writeInt(delta.getLength()); // Large generated levels reveal more than 64 KiB at once
+        out.write(delta.getData(), 0, delta.getLength());
+    }
+
+    // --- WORLD EVENTS (raised from inside processTurn, on this session's thread) ---
+
+    @Override
+    public void onQuestionTriggered(Entity target, MathGen problem) {
+        battleTarget = target;
+        pendingProblem = problem;
+        questionsQueue = BattleRules.questionsFor(target);
+    }
+
+    @Override
+    public void onGameOver() {
+        resultFlags |= Protocol.FLAG_GAME_OVER;
+    }
+}
@@ -0,0 +1,50 @@
+package gg.group3.justgo.server;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import gg.group3.justgo.GameLevel;
+import gg.group3.justgo.entities.Entity;
+import gg.group3.justgo.entities.SpikeEntity;
+import gg.group3.justgo.managers.WorldEventListener;
+import gg.group3.justgo.managers.WorldManager;
+import gg.group3.justgo.utils.MathGen;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/** Worlds built without an atlas, the way sessions and benchmarks build them. */
+public class HeadlessWorldTest {
+    private static final WorldEventListener NO_UI = new WorldEventListener() {
+        @Override
+        public void onQuestionTriggered(Entity target, MathGen problem) { }
+
+        @Override
+        public void onGameOver() { }
+    };
+
+    @BeforeClass
+    public static void initGdx() {
+        if (Gdx.app != null) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = 1;
+        new HeadlessApplication(new ApplicationAdapter() { }, config);
+        Gdx.app.setLogLevel(Application.LOG_NONE);
+    }
+
+    @Test
+    public void buildsLevelOneWithoutAtlas() {
+        GameLevel level = GameLevel.loadWithoutGraphics(GameLevel.levelFile(1));
+        WorldManager world = new WorldManager(level, null, NO_UI, 1);
+
+        boolean hasSpikes = false;
+        for (Entity entity : world.getEntities()) {
+            if (entity instanceof SpikeEntity) hasSpikes = true;
+        }
+        assertTrue("level 1 should have spikes, they broke headless worlds", hasSpikes);
+        level.dispose();
+    }
+}